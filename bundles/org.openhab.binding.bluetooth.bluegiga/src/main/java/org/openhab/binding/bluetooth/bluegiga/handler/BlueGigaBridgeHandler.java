@@ -265,6 +265,7 @@ public class BlueGigaBridgeHandler extends AbstractBluetoothBridgeHandler<BlueGi
                             outputStream.get()));
             transactionManager = serialHandler.thenApply(sh -> {
                 BlueGigaTransactionManager th = new BlueGigaTransactionManager(sh, executor);
+                th.setAdvertisementCoalescingWindow(configuration.advertisementCoalescingWindow);
                 sh.addHandlerListener(this);
                 th.addEventListener(this);
                 return th;
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.gap.BlueGigaScanResponseEvent;
+import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.ScanResponseType;
+
+/**
+ * Limits the advertisements forwarded to the event listeners to one per device, packet type and window.
+ *
+ * Advertisements and scan responses of a device carry different data, so they are counted separately. This class is
+ * not thread safe, it is meant to be called from the serial parser thread only.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class BlueGigaAdvertisementCoalescer {
+
+    private static final long CLEANUP_INTERVAL_MS = 60000;
+
+    private final long window;
+    // last forwarded time per sender, indexed by packet type
+    private final Map<String, long[]> lastForwarded = new HashMap<>();
+    private long lastCleanup;
+
+    /**
+     * @param window the window in milliseconds
+     */
+    public BlueGigaAdvertisementCoalescer(long window) {
+        this.window = window;
+    }
+
+    /**
+     * @param event the received advertisement
+     * @param now the current time in milliseconds
+     * @return <code>true</code> if the advertisement should be forwarded
+     */
+    public boolean accept(BlueGigaScanResponseEvent event, long now) {
+        if (now - lastCleanup >= CLEANUP_INTERVAL_MS) {
+            removeExpired(now);
+            lastCleanup = now;
+        }
+        long[] times = lastForwarded.computeIfAbsent(event.getSender(),
+                sender -> new long[ScanResponseType.values().length]);
+        int index = event.getPacketType().ordinal();
+        if (times[index] != 0 && now - times[index] < window) {
+            return false;
+        }
+        times[index] = now;
+        return true;
+    }
+
+    public int size() {
+        return lastForwarded.size();
+    }
+
+    // devices with random addresses change them regularly, so the map would grow forever without cleanup
+    private void removeExpired(long now) {
+        for (Iterator<long[]> it = lastForwarded.values().iterator(); it.hasNext();) {
+            long latest = 0;
+            for (long time : it.next()) {
+                latest = Math.max(latest, time);
+            }
+            if (now - latest >= window) {
+                it.remove();
+            }
+        }
+    }
+}
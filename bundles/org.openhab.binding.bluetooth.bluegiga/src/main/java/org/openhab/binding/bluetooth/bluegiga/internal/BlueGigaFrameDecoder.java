@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import java.nio.ByteBuffer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Splits the byte stream received from the BlueGiga dongle into BGAPI frames.
+ *
+ * Bytes are collected in a {@link ByteBuffer}, so the serial stream can be read in blocks instead of byte by byte.
+ * Every complete frame is copied into one reused array and passed to a {@link FrameListener}. The listener has to
+ * process the frame before it returns, as the array is overwritten by the next frame.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class BlueGigaFrameDecoder {
+
+    static final int BLE_MAX_LENGTH = 64;
+
+    private static final int HEADER_LENGTH = 4;
+    private static final int BUFFER_SIZE = 1024;
+
+    // The BGAPI protocol has no packet framing and no error detection, so we do a few
+    // sanity checks on the header to try and allow resynchronisation.
+    // Byte 0: Check technology type is bluetooth and high length is 0
+    // Byte 1: Check length is less than 64 bytes
+    // Byte 2: Check class ID is less than 8
+    // Byte 3: Check command ID is less than 32
+    // The mask of byte n is at index n + 1, like in the former byte by byte parser.
+    private static final int[] FRAME_CHECK = { 0x00, 0x7F, 0xC0, 0xF8, 0xE0 };
+
+    @FunctionalInterface
+    public interface FrameListener {
+        /**
+         * @param frame the frame, only valid until this method returns
+         * @param length the length of the frame
+         */
+        void frameReceived(int[] frame, int length);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(BlueGigaFrameDecoder.class);
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final int[] frame = new int[BLE_MAX_LENGTH];
+
+    /**
+     * Adds received bytes and passes all frames which are complete now to the listener.
+     *
+     * @param data the received bytes
+     * @param length the number of valid bytes in data
+     * @param listener called for every complete frame
+     */
+    public void decode(byte[] data, int length, FrameListener listener) {
+        int offset = 0;
+        while (offset < length) {
+            int count = Math.min(length - offset, buffer.remaining());
+            buffer.put(data, offset, count);
+            offset += count;
+
+            buffer.flip();
+            decodeFrames(listener);
+            buffer.compact();
+        }
+    }
+
+    /**
+     * Drops all bytes of an incomplete frame.
+     */
+    public void reset() {
+        buffer.clear();
+    }
+
+    private void decodeFrames(FrameListener listener) {
+        while (buffer.remaining() >= HEADER_LENGTH) {
+            int start = buffer.position();
+            if (!isValidHeader(start)) {
+                // resynchronise at the next byte
+                buffer.position(start + 1);
+                continue;
+            }
+            int frameLength = (buffer.get(start + 1) & 0xFF) + HEADER_LENGTH;
+            if (frameLength > BLE_MAX_LENGTH) {
+                logger.debug("Received illegal BLE packet, length larger than max {} bytes ({})", BLE_MAX_LENGTH,
+                        frameLength);
+                buffer.position(start + 1);
+                continue;
+            }
+            if (buffer.remaining() < frameLength) {
+                // wait for the rest of the frame
+                return;
+            }
+            for (int i = 0; i < frameLength; i++) {
+                frame[i] = buffer.get() & 0xFF;
+            }
+            listener.frameReceived(frame, frameLength);
+        }
+    }
+
+    private boolean isValidHeader(int start) {
+        for (int i = 0; i < HEADER_LENGTH; i++) {
+            int value = buffer.get(start + i) & 0xFF;
+            if ((value & FRAME_CHECK[i + 1]) != 0) {
+                logger.debug("BlueGiga framing error byte {} = {}", i + 1, value);
+                return false;
+            }
+        }
+        return true;
+    }
+}
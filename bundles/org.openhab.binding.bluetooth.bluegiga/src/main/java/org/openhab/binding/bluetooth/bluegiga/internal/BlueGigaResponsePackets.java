@@ -105,6 +105,9 @@ class BlueGigaResponsePackets {
 
     private static final Map<Integer, Class<?>> packetMap = new HashMap<>();
 
+    // looking up the constructor for every received packet is expensive
+    private static final Map<Integer, Constructor<?>> constructorMap = new HashMap<>();
+
     static {
         packetMap.put(Objects.hash(0x00, 0x06, true), BlueGigaProtocolErrorEvent.class);
         packetMap.put(Objects.hash(0x00, 0x02, true), BlueGigaEndpointWatermarkRxEvent.class);
@@ -176,6 +179,14 @@ class BlueGigaResponsePackets {
         packetMap.put(Objects.hash(0x00, 0x05, false), BlueGigaGetCountersResponse.class);
         packetMap.put(Objects.hash(0x00, 0x08, false), BlueGigaGetInfoResponse.class);
         packetMap.put(Objects.hash(0x00, 0x00, true), BlueGigaBootEvent.class);
+
+        for (Map.Entry<Integer, Class<?>> entry : packetMap.entrySet()) {
+            try {
+                constructorMap.put(entry.getKey(), entry.getValue().getConstructor(int[].class));
+            } catch (NoSuchMethodException | SecurityException e) {
+                logger.debug("Error looking up constructor of BLE class {}", entry.getValue(), e);
+            }
+        }
     }
 
     @SuppressWarnings({ "null", "unused" })
@@ -185,20 +196,17 @@ class BlueGigaResponsePackets {
         int cmdMethod = data[3];
         boolean isEvent = (data[0] & 0x80) != 0;
 
-        Class<?> bleClass = packetMap.get(Objects.hash(cmdClass, cmdMethod, isEvent));
+        Constructor<?> ctor = constructorMap.get(Objects.hash(cmdClass, cmdMethod, isEvent));
 
-        if (bleClass == null) {
+        if (ctor == null) {
             return null;
         }
 
-        Constructor<?> ctor;
-
         try {
-            ctor = bleClass.getConstructor(int[].class);
             BlueGigaResponse bleFrame = (BlueGigaResponse) ctor.newInstance(data);
             return bleFrame;
-        } catch (NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException
-                | IllegalArgumentException | InvocationTargetException e) {
+        } catch (InstantiationException | IllegalAccessException | IllegalArgumentException
+                | InvocationTargetException e) {
             logger.debug("Error instantiating BLE class", e);
         }
 
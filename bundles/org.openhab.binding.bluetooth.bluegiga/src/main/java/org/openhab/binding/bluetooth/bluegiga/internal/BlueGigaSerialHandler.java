@@ -35,7 +35,7 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 public class BlueGigaSerialHandler {
 
-    private static final int BLE_MAX_LENGTH = 64;
+    private static final int READ_BUFFER_SIZE = 256;
 
     private final Logger logger = LoggerFactory.getLogger(BlueGigaSerialHandler.class);
 
@@ -238,75 +238,17 @@ public class BlueGigaSerialHandler {
     }
 
     private void inboundMessageHandlerLoop() {
-        final int[] framecheckParams = { 0x00, 0x7F, 0xC0, 0xF8, 0xE0 };
-
         logger.trace("BlueGiga BLE thread started");
-        int[] inputBuffer = new int[BLE_MAX_LENGTH];
-        int inputCount = 0;
-        int inputLength = 0;
+        byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+        BlueGigaFrameDecoder decoder = new BlueGigaFrameDecoder();
 
         while (!close) {
             try {
-                int val = inputStream.read();
-                if (val == -1) {
+                int count = inputStream.read(readBuffer);
+                if (count <= 0) {
                     continue;
                 }
-
-                inputBuffer[inputCount++] = val;
-
-                if (inputCount == 1) {
-                    if (inputStream.markSupported()) {
-                        inputStream.mark(BLE_MAX_LENGTH);
-                    }
-                }
-
-                if (inputCount < 4) {
-                    // The BGAPI protocol has no packet framing and no error detection, so we do a few
-                    // sanity checks on the header to try and allow resynchronisation.
-                    // Byte 0: Check technology type is bluetooth and high length is 0
-                    // Byte 1: Check length is less than 64 bytes
-                    // Byte 2: Check class ID is less than 8
-                    // Byte 3: Check command ID is less than 16
-                    if ((val & framecheckParams[inputCount]) != 0) {
-                        logger.debug("BlueGiga framing error byte {} = {}", inputCount, val);
-                        if (inputStream.markSupported()) {
-                            inputStream.reset();
-                        }
-                        inputCount = 0;
-                        continue;
-                    }
-                } else if (inputCount == 4) {
-                    // Process the header to get the length
-                    inputLength = inputBuffer[1] + (inputBuffer[0] & 0x02 << 8) + 4;
-                    if (inputLength > BLE_MAX_LENGTH) {
-                        logger.debug("Received illegal BLE packet, length larger than max {} bytes ({})",
-                                BLE_MAX_LENGTH, inputLength);
-                        if (inputStream.markSupported()) {
-                            inputStream.reset();
-                        }
-                        inputCount = 0;
-                        inputLength = 0;
-                        continue;
-                    }
-                } else if (inputCount == inputLength) {
-                    // End of packet reached - process
-                    if (logger.isTraceEnabled()) {
-                        logger.trace("BLE RX: {}", printHex(inputBuffer, inputLength));
-                    }
-
-                    BlueGigaResponse responsePacket = BlueGigaResponsePackets.getPacket(inputBuffer);
-
-                    if (logger.isTraceEnabled()) {
-                        logger.trace("BLE RX: {}", responsePacket);
-                    }
-                    if (responsePacket != null) {
-                        notifyEventListeners(responsePacket);
-                    } else {
-                        logger.debug("Unknown packet received: {}", printHex(inputBuffer, inputLength));
-                    }
-
-                    inputCount = 0;
-                }
+                decoder.decode(readBuffer, count, this::processFrame);
             } catch (Exception e) {
                 logger.trace("BlueGiga BLE Exception: ", e);
                 close = true;
@@ -316,6 +258,23 @@ public class BlueGigaSerialHandler {
         logger.debug("BlueGiga BLE exited.");
     }
 
+    private void processFrame(int[] frame, int length) {
+        if (logger.isTraceEnabled()) {
+            logger.trace("BLE RX: {}", printHex(frame, length));
+        }
+
+        BlueGigaResponse responsePacket = BlueGigaResponsePackets.getPacket(frame);
+
+        if (logger.isTraceEnabled()) {
+            logger.trace("BLE RX: {}", responsePacket);
+        }
+        if (responsePacket != null) {
+            notifyEventListeners(responsePacket);
+        } else {
+            logger.debug("Unknown packet received: {}", printHex(frame, length));
+        }
+    }
+
     private Thread createBlueGigaBLEHandler(String uid) {
         return new Thread(this::inboundMessageHandlerLoop, "OH-binding-" + uid + "-blueGigaBLEHandler");
     }
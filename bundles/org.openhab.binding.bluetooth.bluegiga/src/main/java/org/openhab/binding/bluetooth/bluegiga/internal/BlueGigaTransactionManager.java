@@ -29,6 +29,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.gap.BlueGigaScanResponseEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -71,6 +72,8 @@ public class BlueGigaTransactionManager implements BlueGigaSerialEventListener {
 
     private @Nullable Future<?> transactionTimeoutTimer;
 
+    private volatile @Nullable BlueGigaAdvertisementCoalescer advertisementCoalescer;
+
     /**
      * Internal interface for transaction listeners.
      */
@@ -319,6 +322,15 @@ public class BlueGigaTransactionManager implements BlueGigaSerialEventListener {
         eventListeners.add(listener);
     }
 
+    /**
+     * Forward at most one advertisement per device and packet type within the given window to the event listeners.
+     *
+     * @param window milliseconds, 0 forwards all advertisements
+     */
+    public void setAdvertisementCoalescingWindow(long window) {
+        advertisementCoalescer = window > 0 ? new BlueGigaAdvertisementCoalescer(window) : null;
+    }
+
     public void removeEventListener(BlueGigaEventListener listener) {
         eventListeners.remove(listener);
     }
@@ -326,6 +338,11 @@ public class BlueGigaTransactionManager implements BlueGigaSerialEventListener {
     @Override
     public void bluegigaFrameReceived(BlueGigaResponse event) {
         if (event.isEvent()) {
+            BlueGigaAdvertisementCoalescer coalescer = advertisementCoalescer;
+            if (coalescer != null && event instanceof BlueGigaScanResponseEvent
+                    && !coalescer.accept((BlueGigaScanResponseEvent) event, System.currentTimeMillis())) {
+                return;
+            }
             notifyEventListeners(event);
         } else {
             notifyTransactionComplete(event);
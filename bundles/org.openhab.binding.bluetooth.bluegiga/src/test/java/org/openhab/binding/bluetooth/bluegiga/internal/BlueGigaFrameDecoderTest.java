@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.gap.BlueGigaScanResponseEvent;
+
+/**
+ * Tests {@link BlueGigaFrameDecoder} and {@link BlueGigaAdvertisementCoalescer} by replaying captured frames.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class BlueGigaFrameDecoderTest {
+
+    // gap scan response events of two devices
+    private static final int[] SCAN_RESPONSE_1 = { 0x80, 0x0E, 0x06, 0x00, 0xC5, 0x00, 0x11, 0x22, 0x33, 0x44, 0x55,
+            0x66, 0x00, 0xFF, 0x03, 0x02, 0x01, 0x06 };
+    private static final int[] SCAN_RESPONSE_2 = { 0x80, 0x0E, 0x06, 0x00, 0xB0, 0x00, 0xAA, 0xBB, 0xCC, 0xDD, 0xEE,
+            0xFF, 0x01, 0xFF, 0x03, 0x02, 0x01, 0x06 };
+    // attribute client find information found event
+    private static final int[] FIND_INFORMATION_FOUND = { 0x80, 0x06, 0x04, 0x04, 0x02, 0x0A, 0x00, 0x02, 0x00,
+            0x28 };
+
+    private final List<int[]> frames = new ArrayList<>();
+
+    @Test
+    public void testReplayInChunks() {
+        byte[] stream = concat(SCAN_RESPONSE_1, FIND_INFORMATION_FOUND, SCAN_RESPONSE_2);
+        for (int chunkSize = 1; chunkSize <= stream.length; chunkSize++) {
+            frames.clear();
+            BlueGigaFrameDecoder decoder = new BlueGigaFrameDecoder();
+            for (int offset = 0; offset < stream.length; offset += chunkSize) {
+                byte[] chunk = Arrays.copyOfRange(stream, offset, Math.min(stream.length, offset + chunkSize));
+                decoder.decode(chunk, chunk.length, this::addFrame);
+            }
+            assertEquals(3, frames.size(), "chunk size " + chunkSize);
+            assertArrayEquals(SCAN_RESPONSE_1, frames.get(0));
+            assertArrayEquals(FIND_INFORMATION_FOUND, frames.get(1));
+            assertArrayEquals(SCAN_RESPONSE_2, frames.get(2));
+        }
+    }
+
+    @Test
+    public void testResynchronisesAfterGarbage() {
+        byte[] stream = concat(new int[] { 0xFF, 0x7F, 0x00 }, SCAN_RESPONSE_1, new int[] { 0x12 },
+                FIND_INFORMATION_FOUND);
+        new BlueGigaFrameDecoder().decode(stream, stream.length, this::addFrame);
+
+        assertEquals(2, frames.size());
+        assertArrayEquals(SCAN_RESPONSE_1, frames.get(0));
+        assertArrayEquals(FIND_INFORMATION_FOUND, frames.get(1));
+    }
+
+    @Test
+    public void testRejectsHeaderWithLargeCommandId() {
+        // would be an empty frame of class 0, but the command ID is out of range
+        byte[] stream = concat(new int[] { 0x80, 0x00, 0x00, 0x20 }, SCAN_RESPONSE_1);
+        new BlueGigaFrameDecoder().decode(stream, stream.length, this::addFrame);
+
+        assertEquals(1, frames.size());
+        assertArrayEquals(SCAN_RESPONSE_1, frames.get(0));
+    }
+
+    @Test
+    public void testCoalescesAdvertisementsPerDevice() {
+        int rounds = 100;
+        int[][] capture = new int[rounds * 2][];
+        for (int i = 0; i < rounds; i++) {
+            capture[2 * i] = SCAN_RESPONSE_1;
+            capture[2 * i + 1] = SCAN_RESPONSE_2;
+        }
+        byte[] stream = concat(capture);
+        BlueGigaAdvertisementCoalescer coalescer = new BlueGigaAdvertisementCoalescer(1000);
+        List<String> forwarded = new ArrayList<>();
+        long[] now = { 1 };
+
+        new BlueGigaFrameDecoder().decode(stream, stream.length, (frame, length) -> {
+            BlueGigaResponse response = BlueGigaResponsePackets.getPacket(frame);
+            assertTrue(response instanceof BlueGigaScanResponseEvent);
+            BlueGigaScanResponseEvent event = (BlueGigaScanResponseEvent) response;
+            if (coalescer.accept(event, now[0])) {
+                forwarded.add(event.getSender());
+            }
+            // two advertisements every 100 ms
+            now[0] += 50;
+        });
+
+        // 100 rounds in 10 seconds, one advertisement per device and second
+        assertEquals(20, forwarded.size());
+        assertEquals(2, coalescer.size());
+    }
+
+    private void addFrame(int[] frame, int length) {
+        frames.add(Arrays.copyOf(frame, length));
+    }
+
+    private static byte[] concat(int[]... frames) {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (int[] frame : frames) {
+            for (int value : frame) {
+                stream.write(value);
+            }
+        }
+        return stream.toByteArray();
+    }
+}
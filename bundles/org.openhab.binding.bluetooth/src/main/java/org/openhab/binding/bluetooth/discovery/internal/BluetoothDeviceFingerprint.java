@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.discovery.internal;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.bluetooth.BluetoothDevice;
+import org.openhab.binding.bluetooth.BluetoothService;
+
+/**
+ * Immutable copy of the advertised content of a {@link BluetoothDevice} that is relevant for discovery, i.e. the
+ * name, manufacturer, transmit power and the UUIDs of the known services.
+ *
+ * Unlike a {@link BluetoothDeviceSnapshot} it is not changed by the discovery participants, so it can be used to
+ * recognize advertisements that do not carry anything new. The hash code is computed once, so comparing two
+ * fingerprints is cheap in the common case of different content.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class BluetoothDeviceFingerprint {
+
+    private final @Nullable String name;
+    private final @Nullable Integer manufacturer;
+    private final @Nullable Integer txPower;
+    private final Set<UUID> services;
+    private final int hash;
+
+    public BluetoothDeviceFingerprint(BluetoothDevice device) {
+        this.name = device.getName();
+        this.manufacturer = device.getManufacturerId();
+        this.txPower = device.getTxPower();
+
+        Collection<BluetoothService> deviceServices = device.getServices();
+        if (deviceServices.isEmpty()) {
+            this.services = Set.of();
+        } else {
+            Set<UUID> services = new HashSet<>();
+            for (BluetoothService service : deviceServices) {
+                services.add(service.getUuid());
+            }
+            this.services = services;
+        }
+        this.hash = Objects.hash(name, manufacturer, txPower, services);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        BluetoothDeviceFingerprint other = (BluetoothDeviceFingerprint) obj;
+        return hash == other.hash && Objects.equals(name, other.name)
+                && Objects.equals(manufacturer, other.manufacturer) && Objects.equals(txPower, other.txPower)
+                && services.equals(other.services);
+    }
+}
@@ -17,10 +17,14 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -62,6 +66,7 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
     private final Logger logger = LoggerFactory.getLogger(BluetoothDiscoveryService.class);
 
     private static final int SEARCH_TIME = 15;
+    private static final Duration SNAPSHOT_EXPIRY = Duration.ofMinutes(1);
 
     private final Set<BluetoothAdapter> adapters = new CopyOnWriteArraySet<>();
     private final Set<BluetoothDiscoveryParticipant> participants = new CopyOnWriteArraySet<>();
@@ -70,6 +75,17 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
 
     private final Set<ThingTypeUID> supportedThingTypes = new CopyOnWriteArraySet<>();
 
+    // content that has already been queued for evaluation, used to drop repeated advertisements early
+    private final Map<BluetoothAddress, EvaluatedContent> evaluatedContents = new ConcurrentHashMap<>();
+    private volatile long lastExpiredContentsPurge = System.currentTimeMillis();
+
+    // discoveries and removals are processed in order by a single task, off the thread of the adapter
+    private final Queue<Runnable> pendingEvents = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean processingScheduled = new AtomicBoolean();
+
+    private final AtomicLong evaluatedDiscoveries = new AtomicLong();
+    private final AtomicLong skippedDiscoveries = new AtomicLong();
+
     public BluetoothDiscoveryService() {
         super(SEARCH_TIME);
         supportedThingTypes.add(BluetoothBindingConstants.THING_TYPE_BEACON);
@@ -137,23 +153,115 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
         // The method `removeOlderResults()` removes the Things from listeners like `Inbox`.
         // We therefore need to reset `latestSnapshot` so that the Things are notified again next time.
         // Results newer than `getTimestampOfLastScan()` will also be notified again but do not lead to duplicates.
+        evaluatedContents.clear();
         discoveryCaches.values().forEach(discoveryCache -> {
             discoveryCache.latestSnapshot.putValue(null);
         });
         removeOlderResults(getTimestampOfLastScan());
+        logger.debug("Bluetooth discovery statistics: {} discoveries evaluated, {} skipped",
+                evaluatedDiscoveries.get(), skippedDiscoveries.get());
     }
 
     @Override
     public void deviceRemoved(BluetoothDevice device) {
-        discoveryCaches.computeIfPresent(device.getAddress(), (addr, cache) -> cache.removeDiscoveries(device));
+        evaluatedContents.computeIfPresent(device.getAddress(), (address, content) -> {
+            content.adapters.remove(device.getAdapter());
+            return content.adapters.isEmpty() ? null : content;
+        });
+        enqueue(() -> discoveryCaches.computeIfPresent(device.getAddress(),
+                (addr, cache) -> cache.removeDiscoveries(device)));
     }
 
     @Override
     public void deviceDiscovered(BluetoothDevice device) {
+        if (!isNewContent(device)) {
+            skippedDiscoveries.incrementAndGet();
+            logger.trace("Ignoring unchanged advertisement of bluetooth device {}", device.getAddress());
+            return;
+        }
         logger.debug("Discovered bluetooth device '{}': {}", device.getName(), device);
 
-        DiscoveryCache cache = discoveryCaches.computeIfAbsent(device.getAddress(), addr -> new DiscoveryCache());
-        cache.handleDiscovery(device);
+        // the snapshot is taken now, so that later changes of the device are handled by their own discovery
+        BluetoothDeviceSnapshot snapshot = new BluetoothDeviceSnapshot(device);
+        enqueue(() -> discoveryCaches.computeIfAbsent(snapshot.getAddress(), addr -> new DiscoveryCache())
+                .handleDiscovery(snapshot));
+    }
+
+    /**
+     * Returns the number of discoveries for which the discovery participants have been run.
+     */
+    public long getEvaluatedDiscoveryCount() {
+        return evaluatedDiscoveries.get();
+    }
+
+    /**
+     * Returns the number of discoveries which have been dropped because they did not change anything or could reuse
+     * the result of another adapter.
+     */
+    public long getSkippedDiscoveryCount() {
+        return skippedDiscoveries.get();
+    }
+
+    int getEvaluatedContentCount() {
+        return evaluatedContents.size();
+    }
+
+    /**
+     * Checks whether the advertised content of the device differs from the content which has already been queued
+     * for evaluation for its adapter, and records it if so.
+     *
+     * This only drops exact repetitions, all other cases are left to the snapshot handling of the
+     * {@link DiscoveryCache}.
+     */
+    private boolean isNewContent(BluetoothDevice device) {
+        BluetoothAddress address = device.getAddress();
+        BluetoothAdapter adapter = device.getAdapter();
+        BluetoothDeviceFingerprint fingerprint = new BluetoothDeviceFingerprint(device);
+        long now = System.currentTimeMillis();
+
+        EvaluatedContent content = evaluatedContents.get(address);
+        if (content != null && content.fingerprint.equals(fingerprint)
+                && now - content.timestamp < SNAPSHOT_EXPIRY.toMillis()) {
+            return content.adapters.add(adapter);
+        }
+        evaluatedContents.put(address, new EvaluatedContent(fingerprint, adapter, now));
+        purgeExpiredContents(now);
+        return true;
+    }
+
+    /**
+     * Removes the contents of devices which have not sent new content for longer than the snapshot expiry. These would
+     * be treated as new content anyway, and devices which disappear without being removed would stay forever otherwise.
+     */
+    private void purgeExpiredContents(long now) {
+        long expiry = SNAPSHOT_EXPIRY.toMillis();
+        if (now - lastExpiredContentsPurge < expiry) {
+            return;
+        }
+        lastExpiredContentsPurge = now;
+        evaluatedContents.values().removeIf(content -> now - content.timestamp >= expiry);
+    }
+
+    private void enqueue(Runnable event) {
+        pendingEvents.add(event);
+        if (processingScheduled.compareAndSet(false, true)) {
+            scheduler.execute(this::processPendingEvents);
+        }
+    }
+
+    private void processPendingEvents() {
+        do {
+            Runnable event;
+            while ((event = pendingEvents.poll()) != null) {
+                try {
+                    event.run();
+                } catch (RuntimeException e) {
+                    logger.warn("Error while processing bluetooth discovery", e);
+                }
+            }
+            processingScheduled.set(false);
+            // another event might have been added after the queue was found empty
+        } while (!pendingEvents.isEmpty() && processingScheduled.compareAndSet(false, true));
     }
 
     private static ThingUID createThingUIDWithBridge(DiscoveryResult result, BluetoothAdapter adapter) {
@@ -177,7 +285,7 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
         private final Map<BluetoothAdapter, SnapshotFuture> discoveryFutures = new HashMap<>();
         private final Map<BluetoothAdapter, Set<DiscoveryResult>> discoveryResults = new ConcurrentHashMap<>();
 
-        private ExpiringCache<BluetoothDeviceSnapshot> latestSnapshot = new ExpiringCache<>(Duration.ofMinutes(1),
+        private ExpiringCache<BluetoothDeviceSnapshot> latestSnapshot = new ExpiringCache<>(SNAPSHOT_EXPIRY,
                 () -> null);
 
         /**
@@ -198,23 +306,22 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
             return this;
         }
 
-        public synchronized void handleDiscovery(BluetoothDevice device) {
+        public synchronized void handleDiscovery(BluetoothDeviceSnapshot snapshot) {
             if (!discoveryFutures.isEmpty()) {
                 CompletableFuture
                         // we have an ongoing futures so lets create our discovery after they all finish
                         .allOf(discoveryFutures.values().stream().map(sf -> sf.future)
                                 .toArray(CompletableFuture[]::new))
-                        .thenRun(() -> createDiscoveryFuture(device));
+                        .thenRun(() -> createDiscoveryFuture(snapshot));
             } else {
-                createDiscoveryFuture(device);
+                createDiscoveryFuture(snapshot);
             }
         }
 
-        private synchronized void createDiscoveryFuture(BluetoothDevice device) {
-            BluetoothAdapter adapter = device.getAdapter();
+        private synchronized void createDiscoveryFuture(BluetoothDeviceSnapshot snapshot) {
+            BluetoothAdapter adapter = snapshot.getAdapter();
             CompletableFuture<DiscoveryResult> future = null;
 
-            BluetoothDeviceSnapshot snapshot = new BluetoothDeviceSnapshot(device);
             BluetoothDeviceSnapshot latestSnapshot = this.latestSnapshot.getValue();
             if (latestSnapshot != null) {
                 snapshot.merge(latestSnapshot);
@@ -225,6 +332,7 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
                             && discoveryFutures.get(adapter).snapshot.equals(latestSnapshot)) {
                         // This adapter has already produced the most up-to-date result, so no further processing is
                         // necessary
+                        skippedDiscoveries.incrementAndGet();
                         return;
                     }
 
@@ -239,6 +347,7 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
                             .filter(sf -> sf.snapshot.equals(latestSnapshot)).findAny().map(sf -> sf.future);
                     if (otherFuture.isPresent()) {
                         future = otherFuture.get();
+                        skippedDiscoveries.incrementAndGet();
                     }
                 }
             }
@@ -275,7 +384,7 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
                 return result;
             }).whenComplete((r, t) -> {
                 if (t != null) {
-                    logger.warn("Error occured during discovery of {}", device.getAddress(), t);
+                    logger.warn("Error occured during discovery of {}", snapshot.getAddress(), t);
                 }
             });
 
@@ -313,11 +422,24 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
         }
 
         private CompletableFuture<DiscoveryResult> startDiscoveryProcess(BluetoothDeviceSnapshot device) {
+            evaluatedDiscoveries.incrementAndGet();
             return CompletableFuture.supplyAsync(new BluetoothDiscoveryProcess(device, participants, adapters),
                     scheduler);
         }
     }
 
+    private static class EvaluatedContent {
+        public final BluetoothDeviceFingerprint fingerprint;
+        public final Set<BluetoothAdapter> adapters = ConcurrentHashMap.newKeySet();
+        public final long timestamp;
+
+        public EvaluatedContent(BluetoothDeviceFingerprint fingerprint, BluetoothAdapter adapter, long timestamp) {
+            this.fingerprint = fingerprint;
+            this.adapters.add(adapter);
+            this.timestamp = timestamp;
+        }
+    }
+
     private static class SnapshotFuture {
         public final BluetoothDeviceSnapshot snapshot;
         public final CompletableFuture<DiscoveryResult> future;
@@ -127,6 +127,42 @@ public class BluetoothDiscoveryServiceTest {
                 ArgumentMatchers.argThat(arg -> arg.getThingTypeUID().equals(participant1.typeUID)));
     }
 
+    @Test
+    public void skipRepeatedAdvertisementsTest() {
+        BluetoothAdapter mockAdapter1 = new MockBluetoothAdapter();
+        BluetoothDevice device = mockAdapter1.getDevice(TestUtils.randomAddress());
+        for (int i = 0; i < 10; i++) {
+            discoveryService.deviceDiscovered(device);
+        }
+
+        Mockito.verify(mockDiscoveryListener, Mockito.timeout(TIMEOUT).times(1)).thingDiscovered(
+                ArgumentMatchers.same(discoveryService),
+                ArgumentMatchers.argThat(arg -> arg.getThingTypeUID().equals(participant1.typeUID)));
+        Mockito.verify(participant1, Mockito.times(1)).createResult(ArgumentMatchers.any());
+
+        assertEquals(1, discoveryService.getEvaluatedDiscoveryCount());
+        assertEquals(9, discoveryService.getSkippedDiscoveryCount());
+    }
+
+    @Test
+    public void forgetContentOfRemovedDeviceTest() {
+        MockBluetoothAdapter mockAdapter1 = new MockBluetoothAdapter();
+        MockBluetoothAdapter mockAdapter2 = new MockBluetoothAdapter();
+        BluetoothAddress address = TestUtils.randomAddress();
+        BluetoothDevice device1 = mockAdapter1.getDevice(address);
+        BluetoothDevice device2 = mockAdapter2.getDevice(address);
+        discoveryService.deviceDiscovered(device1);
+        discoveryService.deviceDiscovered(device2);
+        assertEquals(1, discoveryService.getEvaluatedContentCount());
+
+        // still seen by the second adapter
+        discoveryService.deviceRemoved(device1);
+        assertEquals(1, discoveryService.getEvaluatedContentCount());
+
+        discoveryService.deviceRemoved(device2);
+        assertEquals(0, discoveryService.getEvaluatedContentCount());
+    }
+
     @Test
     public void nonDuplicateNameTest() throws InterruptedException {
         MockBluetoothAdapter mockAdapter1 = new MockBluetoothAdapter();
@@ -30,8 +30,19 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class CosemObjectFactory {
+    /**
+     * Maximum number of interned OBIS Identifiers. A meter only sends a few dozen different identifiers, this only
+     * prevents the cache from growing on corrupted data.
+     */
+    private static final int MAX_INTERNED_OBIS_IDENTIFIERS = 512;
+
     private final Logger logger = LoggerFactory.getLogger(CosemObjectFactory.class);
 
+    /**
+     * Canonical instances of the received OBIS Identifiers, so their reduced identifiers are only created once
+     */
+    private final Map<OBISIdentifier, OBISIdentifier> internedObisIdentifiers = new HashMap<>();
+
     /**
      * Lookup cache for fixed OBIS Identifiers
      */
@@ -91,20 +102,28 @@ public class CosemObjectFactory {
      * @return CosemObject or null if parsing failed
      */
     public @Nullable CosemObject getCosemObject(String obisIdString, String cosemStringValues) {
-        OBISIdentifier obisId;
-        OBISIdentifier reducedObisId;
-        OBISIdentifier reducedObisIdGroupE;
-
         try {
-            obisId = new OBISIdentifier(obisIdString);
-            reducedObisId = obisId.getReducedOBISIdentifier();
-            reducedObisIdGroupE = obisId.getReducedOBISIdentifierGroupE();
+            return getCosemObject(new OBISIdentifier(obisIdString), cosemStringValues);
         } catch (final ParseException pe) {
             logger.debug("Received invalid OBIS identifier: {}", obisIdString);
             return null;
         }
+    }
 
-        logger.trace("Received obisIdString {}, obisId: {}, values: {}", obisIdString, obisId, cosemStringValues);
+    /**
+     * Return Cosem Object for the specified OBIS Identifier or null if the values couldn't be parsed correctly or no
+     * corresponding Cosem Object was found
+     *
+     * @param receivedObisId the received OBIS message identifier
+     * @param cosemStringValues String containing Cosem values
+     * @return CosemObject or null if parsing failed
+     */
+    public @Nullable CosemObject getCosemObject(OBISIdentifier receivedObisId, String cosemStringValues) {
+        OBISIdentifier obisId = intern(receivedObisId);
+        OBISIdentifier reducedObisId = obisId.getReducedOBISIdentifier();
+        OBISIdentifier reducedObisIdGroupE = obisId.getReducedOBISIdentifierGroupE();
+
+        logger.trace("Received obisId: {}, values: {}", obisId, cosemStringValues);
 
         CosemObjectType objectType = obisLookupTableFixed.get(reducedObisId);
         if (objectType != null) {
@@ -151,6 +170,18 @@ public class CosemObjectFactory {
         return null;
     }
 
+    private OBISIdentifier intern(OBISIdentifier obisId) {
+        OBISIdentifier interned = internedObisIdentifiers.get(obisId);
+
+        if (interned == null) {
+            if (internedObisIdentifiers.size() < MAX_INTERNED_OBIS_IDENTIFIERS) {
+                internedObisIdentifiers.put(obisId, obisId);
+            }
+            return obisId;
+        }
+        return interned;
+    }
+
     /**
      * Constructs a CosemObject from the given type, OBISIdentifier and the values
      *
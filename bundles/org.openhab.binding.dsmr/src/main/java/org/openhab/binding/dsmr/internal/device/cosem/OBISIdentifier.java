@@ -38,6 +38,11 @@ public class OBISIdentifier {
      */
     private static final Pattern OBIS_ID_PATTERN = Pattern.compile(OBISID_REGEX);
 
+    /**
+     * Maximum number of digits of a single group, to prevent integer overflow when parsing raw data
+     */
+    private static final int MAX_GROUP_DIGITS = 9;
+
     /* the six individual group values of the OBIS ID */
     private int groupA;
     private @Nullable Integer groupB;
@@ -48,6 +53,10 @@ public class OBISIdentifier {
 
     private boolean conflict;
 
+    /* lazily created reduced identifiers, an OBISIdentifier never changes after construction */
+    private @Nullable OBISIdentifier reducedOBISIdentifier;
+    private @Nullable OBISIdentifier reducedOBISIdentifierGroupE;
+
     /**
      * Constructs a new OBIS Identifier (A-B:C.D.E.F)
      *
@@ -123,6 +132,92 @@ public class OBISIdentifier {
         }
     }
 
+    /**
+     * Parses an OBIS Identifier directly from raw telegram data, without creating a String first.
+     *
+     * The accepted format is the same as of {@link #OBISIdentifier(String)}.
+     *
+     * @param data the raw data containing the OBIS ID in its first bytes
+     * @param length the number of bytes of the OBIS ID
+     * @return the OBISIdentifier or null if the data is not a valid OBIS Identifier
+     */
+    public static @Nullable OBISIdentifier parse(byte[] data, int length) {
+        int[] pos = new int[1];
+        int number = parseGroup(data, length, pos);
+        if (number < 0) {
+            return null;
+        }
+        int groupA = 0;
+        Integer groupB = null;
+        Integer groupE = null;
+        Integer groupF = null;
+
+        if (pos[0] < length && data[pos[0]] == '-') {
+            pos[0]++;
+            groupA = number;
+            number = parseGroup(data, length, pos);
+            if (number < 0) {
+                return null;
+            }
+        }
+        if (pos[0] < length && data[pos[0]] == ':') {
+            pos[0]++;
+            groupB = number;
+            number = parseGroup(data, length, pos);
+            if (number < 0) {
+                return null;
+            }
+        }
+        int groupC = number;
+        if (pos[0] >= length || data[pos[0]] != '.') {
+            return null;
+        }
+        pos[0]++;
+        int groupD = parseGroup(data, length, pos);
+        if (groupD < 0) {
+            return null;
+        }
+        if (pos[0] + 1 < length && data[pos[0]] == '.' && isDigit(data[pos[0] + 1])) {
+            pos[0]++;
+            groupE = parseGroup(data, length, pos);
+        }
+        if (pos[0] < length) {
+            // Group F can be separated by any character except a line break, usually a '*'
+            if (data[pos[0]] == '\r' || data[pos[0]] == '\n') {
+                return null;
+            }
+            pos[0]++;
+            number = parseGroup(data, length, pos);
+            if (number < 0) {
+                return null;
+            }
+            groupF = number;
+        }
+        return pos[0] == length ? new OBISIdentifier(groupA, groupB, groupC, groupD, groupE, groupF) : null;
+    }
+
+    /**
+     * Parses the decimal number starting at pos[0] and moves pos[0] past it.
+     *
+     * @return the number or -1 if there is no number at the position
+     */
+    private static int parseGroup(byte[] data, int length, int[] pos) {
+        int start = pos[0];
+        int i = start;
+        int value = 0;
+
+        while (i < length && isDigit(data[i]) && i - start < MAX_GROUP_DIGITS) {
+            value = value * 10 + (data[i] - '0');
+            i++;
+        }
+        pos[0] = i;
+        return i == start || (i < length && isDigit(data[i])) ? -1 : value;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
     public boolean isConflict() {
         return conflict;
     }
@@ -254,7 +349,12 @@ public class OBISIdentifier {
      * @return reduced OBIS Identifier
      */
     public OBISIdentifier getReducedOBISIdentifier() {
-        return new OBISIdentifier(groupA, groupB, groupC, groupD, groupE, null);
+        OBISIdentifier reduced = reducedOBISIdentifier;
+        if (reduced == null) {
+            reduced = new OBISIdentifier(groupA, groupB, groupC, groupD, groupE, null);
+            reducedOBISIdentifier = reduced;
+        }
+        return reduced;
     }
 
     /**
@@ -264,7 +364,12 @@ public class OBISIdentifier {
      * @return reduced OBIS Identifier
      */
     public OBISIdentifier getReducedOBISIdentifierGroupE() {
-        return new OBISIdentifier(groupA, groupB, groupC, groupD, null, null);
+        OBISIdentifier reduced = reducedOBISIdentifierGroupE;
+        if (reduced == null) {
+            reduced = new OBISIdentifier(groupA, groupB, groupC, groupD, null, null);
+            reducedOBISIdentifierGroupE = reduced;
+        }
+        return reduced;
     }
 
     /**
@@ -15,14 +15,15 @@ package org.openhab.binding.dsmr.internal.device.p1telegram;
 import java.nio.charset.StandardCharsets;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObjectFactory;
+import org.openhab.binding.dsmr.internal.device.cosem.OBISIdentifier;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram.TelegramState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,6 +34,9 @@ import org.slf4j.LoggerFactory;
  *
  * Data can be parsed in chunks. If a full P1 telegram is received, listeners are notified
  *
+ * The data is processed byte by byte. OBIS identifiers and values are collected in reusable byte buffers and the CRC
+ * is calculated while receiving, so only the values of a line are converted to a String.
+ *
  * @author M. Volaart - Initial contribution
  * @author Hilbrand Bouwkamp - Removed asynchronous call and some clean up
  */
@@ -60,9 +64,14 @@ public class P1TelegramParser implements TelegramParser {
     }
 
     /**
-     * Pattern for the CRC-code
+     * Number of hexadecimal digits of the CRC-code
+     */
+    private static final int CRC_LENGTH = 4;
+
+    /**
+     * Initial size of the OBIS buffers, large enough for the lines of most meters
      */
-    private static final String CRC_PATTERN = "[0-9A-Z]{4}";
+    private static final int INITIAL_BUFFER_SIZE = 128;
 
     private final Logger logger = LoggerFactory.getLogger(P1TelegramParser.class);
 
@@ -71,12 +80,14 @@ public class P1TelegramParser implements TelegramParser {
     /**
      * current obisId buffer.
      */
-    private final StringBuilder obisId = new StringBuilder();
+    private byte[] obisId = new byte[INITIAL_BUFFER_SIZE];
+    private int obisIdLength;
 
     /**
      * Current cosem object values buffer.
      */
-    private final StringBuilder obisValue = new StringBuilder();
+    private byte[] obisValue = new byte[INITIAL_BUFFER_SIZE];
+    private int obisValueLength;
 
     /**
      * In lenient mode store raw data and log when a complete message is received.
@@ -84,9 +95,11 @@ public class P1TelegramParser implements TelegramParser {
     private final StringBuilder rawData = new StringBuilder();
 
     /**
-     * Current crc value read.
+     * Current crc value read, the number of characters read and whether they all were valid hexadecimal digits.
      */
-    private final StringBuilder crcValue = new StringBuilder();
+    private int crcValue;
+    private int crcValueLength;
+    private boolean crcValueValid = true;
 
     /**
      * CRC calculation helper
@@ -242,18 +255,18 @@ public class P1TelegramParser implements TelegramParser {
                      * P1 telegram is correctly finished
                      */
                     if (c == '\r' || c == '/') {
-                        logger.trace("telegramState {}, crcValue to check 0x{}", telegramState, crcValue);
+                        logger.trace("telegramState {}, crcValue to check 0x{}", telegramState,
+                                Integer.toHexString(crcValue));
                         // Only perform CRC check if telegram is still ok
-                        if (telegramState == TelegramState.OK && crcValue.length() > 0) {
-                            if (Pattern.matches(CRC_PATTERN, crcValue)) {
-                                int crcP1Telegram = Integer.parseInt(crcValue.toString(), 16);
+                        if (telegramState == TelegramState.OK && crcValueLength > 0) {
+                            if (crcValueValid && crcValueLength == CRC_LENGTH) {
                                 int calculatedCRC = crc.getCurrentCRCCode();
 
                                 if (logger.isDebugEnabled()) {
-                                    logger.trace("received CRC value: {}, calculated CRC value: 0x{}", crcValue,
-                                            String.format("%04X", calculatedCRC));
+                                    logger.trace("received CRC value: {}, calculated CRC value: 0x{}",
+                                            String.format("%04X", crcValue), String.format("%04X", calculatedCRC));
                                 }
-                                if (crcP1Telegram != calculatedCRC) {
+                                if (crcValue != calculatedCRC) {
                                     logger.trace("CRC value does not match, p1 Telegram failed");
 
                                     telegramState = TelegramState.CRC_ERROR;
@@ -324,22 +337,22 @@ public class P1TelegramParser implements TelegramParser {
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_ID:
-                obisId.append(c);
+                obisId = append(obisId, obisIdLength++, (byte) c);
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_VALUE:
-                obisValue.append(c);
+                obisValue = append(obisValue, obisValueLength++, (byte) c);
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_VALUE_END:
-                obisValue.append(c);
+                obisValue = append(obisValue, obisValueLength++, (byte) c);
                 crc.processByte((byte) c);
                 break;
             case CRC_VALUE:
                 if (c == '!') {
                     crc.processByte((byte) c);
                 } else {
-                    crcValue.append(c);
+                    appendCrcCharacter(c);
                 }
                 // CRC data is not part of received data
                 break;
@@ -348,14 +361,44 @@ public class P1TelegramParser implements TelegramParser {
         }
     }
 
+    /**
+     * Stores a byte in the buffer at the given position, growing the buffer if needed.
+     *
+     * @return the buffer containing the byte
+     */
+    private static byte[] append(byte[] buffer, int position, byte b) {
+        byte[] target = position < buffer.length ? buffer : Arrays.copyOf(buffer, buffer.length * 2);
+
+        target[position] = b;
+        return target;
+    }
+
+    /**
+     * Adds a character of the CRC-code to the CRC value read
+     *
+     * @param c the character following the '!'
+     */
+    private void appendCrcCharacter(char c) {
+        if (c >= '0' && c <= '9') {
+            crcValue = (crcValue << 4) | (c - '0');
+        } else if (c >= 'A' && c <= 'F') {
+            crcValue = (crcValue << 4) | (c - 'A' + 10);
+        } else {
+            crcValueValid = false;
+        }
+        crcValueLength++;
+    }
+
     /**
      * Clears all internal state
      */
     private void clearInternalData() {
-        obisId.setLength(0);
-        obisValue.setLength(0);
+        obisIdLength = 0;
+        obisValueLength = 0;
         rawData.setLength(0);
-        crcValue.setLength(0);
+        crcValue = 0;
+        crcValueLength = 0;
+        crcValueValid = true;
         crc.initialize();
         cosemObjects.clear();
         unknownCosemObjects.clear();
@@ -367,23 +410,28 @@ public class P1TelegramParser implements TelegramParser {
      * - current OBIS value
      */
     private void clearObisData() {
-        obisId.setLength(0);
-        obisValue.setLength(0);
+        obisIdLength = 0;
+        obisValueLength = 0;
     }
 
     /**
      * Store the current CosemObject in the list of received cosem Objects
      */
     private void storeCurrentCosemObject() {
-        String obisIdString = obisId.toString();
-
-        if (!obisIdString.isEmpty()) {
-            final String obisValueString = obisValue.toString();
-            CosemObject cosemObject = factory.getCosemObject(obisIdString, obisValueString);
-
+        if (obisIdLength > 0) {
+            final String obisValueString = new String(obisValue, 0, obisValueLength, StandardCharsets.ISO_8859_1);
+            final OBISIdentifier obisIdentifier = OBISIdentifier.parse(obisId, obisIdLength);
+            final CosemObject cosemObject;
+
+            if (obisIdentifier == null) {
+                logger.debug("Received invalid OBIS identifier: {}", getObisIdString());
+                cosemObject = null;
+            } else {
+                cosemObject = factory.getCosemObject(obisIdentifier, obisValueString);
+            }
             if (cosemObject == null) {
                 if (lenientMode) {
-                    unknownCosemObjects.add(new SimpleEntry<>(obisIdString, obisValueString));
+                    unknownCosemObjects.add(new SimpleEntry<>(getObisIdString(), obisValueString));
                 }
             } else {
                 logger.trace("Adding {} to list of Cosem Objects", cosemObject);
@@ -393,6 +441,10 @@ public class P1TelegramParser implements TelegramParser {
         clearObisData();
     }
 
+    private String getObisIdString() {
+        return new String(obisId, 0, obisIdLength, StandardCharsets.ISO_8859_1);
+    }
+
     /**
      * @param newState the new state to set
      */
@@ -14,12 +14,16 @@ package org.openhab.binding.dsmr.internal.device.p1telegram;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.openhab.binding.dsmr.internal.TelegramReaderUtil;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram.TelegramState;
 
@@ -60,4 +64,38 @@ public class P1TelegramParserTest {
                 telegram.getCosemObjects().stream().mapToInt(co -> co.getCosemValues().size()).sum(),
                 "Expected number of objects");
     }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 7, 64, 1024 })
+    public void testChunkedParsing(final int chunkSize) {
+        byte[] telegram = TelegramReaderUtil.readRawTelegram("dsmr_50");
+        List<P1Telegram> telegrams = new ArrayList<>();
+        P1TelegramParser parser = new P1TelegramParser(telegrams::add);
+
+        // replay the same telegram a few times, like a meter sending a telegram every second
+        for (int i = 0; i < 3; i++) {
+            for (int offset = 0; offset < telegram.length; offset += chunkSize) {
+                int length = Math.min(chunkSize, telegram.length - offset);
+                parser.parse(Arrays.copyOfRange(telegram, offset, offset + length), length);
+            }
+        }
+        assertEquals(3, telegrams.size(), "Expected number of telegrams");
+        for (P1Telegram p1Telegram : telegrams) {
+            assertEquals(TelegramState.OK, p1Telegram.getTelegramState(), "Expected TelegramState should be OK");
+            assertEquals(41, p1Telegram.getCosemObjects().stream().mapToInt(co -> co.getCosemValues().size()).sum(),
+                    "Expected number of objects");
+        }
+    }
+
+    @Test
+    public void testCrcError() {
+        String telegram = new String(TelegramReaderUtil.readRawTelegram("dsmr_50"), StandardCharsets.US_ASCII);
+        byte[] corrupted = telegram.replaceFirst("123456\\.789", "123456.788").getBytes(StandardCharsets.US_ASCII);
+        List<P1Telegram> telegrams = new ArrayList<>();
+        P1TelegramParser parser = new P1TelegramParser(telegrams::add);
+
+        parser.parse(corrupted, corrupted.length);
+        assertEquals(1, telegrams.size(), "Expected number of telegrams");
+        assertEquals(TelegramState.CRC_ERROR, telegrams.get(0).getTelegramState(), "Expected CRC error");
+    }
 }
@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.folderwatcher.internal.common;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link FolderIndex} class keeps the set of known files of a watched folder together with its listing file.
+ *
+ * New files are appended to the listing file. Entries of files which are no longer present stay in the file until
+ * it has grown to twice the size of the index, then it is rewritten with the current index only.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class FolderIndex {
+    private static final int MIN_COMPACTION_LINES = 1000;
+
+    private final File listingFile;
+    private final String watchDir;
+    private Set<String> files = new HashSet<>();
+    // the folders containing indexed files, so that only the removal of a folder needs to scan the index
+    private Set<String> folders = new HashSet<>();
+    private int listingLines;
+
+    public FolderIndex(File listingFile, String watchDir) {
+        this.listingFile = listingFile;
+        this.watchDir = watchDir;
+    }
+
+    /**
+     * Loads the index from the listing file, or creates a new listing file if there is none for this folder.
+     */
+    public synchronized void load() throws IOException {
+        List<String> listing = WatcherCommon.initStorage(listingFile, watchDir);
+        // the first line holds the watched folder
+        files = new HashSet<>(listing.isEmpty() ? listing : listing.subList(1, listing.size()));
+        listingLines = files.size();
+        indexFolders();
+    }
+
+    /**
+     * Replaces the index with the complete current listing of the folder.
+     *
+     * @return the files of the listing which were not known before
+     */
+    public synchronized List<String> update(List<String> currentListing) throws IOException {
+        Set<String> currentFiles = new HashSet<>(currentListing.size() * 2);
+        List<String> newFiles = new ArrayList<>();
+        for (String file : currentListing) {
+            if (currentFiles.add(file) && !files.contains(file)) {
+                newFiles.add(file);
+            }
+        }
+        files = currentFiles;
+        indexFolders();
+        save(newFiles);
+        return newFiles;
+    }
+
+    /**
+     * Adds files to the index.
+     *
+     * @return the files which were not known before
+     */
+    public synchronized List<String> addAll(List<String> addedFiles) throws IOException {
+        List<String> newFiles = new ArrayList<>();
+        for (String file : addedFiles) {
+            if (files.add(file)) {
+                newFiles.add(file);
+                addFolders(file);
+            }
+        }
+        save(newFiles);
+        return newFiles;
+    }
+
+    /**
+     * Removes a file, or all files below a folder, from the index so that it is reported again when it is recreated.
+     */
+    public synchronized void remove(String path) {
+        if (!files.remove(path) && folders.remove(path)) {
+            String folderPrefix = path + File.separator;
+            files.removeIf(file -> file.startsWith(folderPrefix));
+            folders.removeIf(folder -> folder.startsWith(folderPrefix));
+        }
+    }
+
+    private void indexFolders() {
+        folders = new HashSet<>();
+        files.forEach(this::addFolders);
+    }
+
+    /**
+     * Adds the parent folders of a file. The parents of a known folder are known as well.
+     */
+    private void addFolders(String file) {
+        String folder = file;
+        int end;
+        while ((end = folder.lastIndexOf(File.separatorChar)) > 0) {
+            folder = folder.substring(0, end);
+            if (!folders.add(folder)) {
+                return;
+            }
+        }
+    }
+
+    private void save(List<String> newFiles) throws IOException {
+        if (newFiles.isEmpty()) {
+            return;
+        }
+        listingLines += newFiles.size();
+        if (listingLines > Math.max(MIN_COMPACTION_LINES, 2 * files.size())) {
+            compact();
+        } else {
+            WatcherCommon.saveNewListing(newFiles, listingFile);
+        }
+    }
+
+    /**
+     * Rewrites the listing file with the current index. The new listing is written to a temporary file first, so
+     * an interrupted write does not lose the listing.
+     */
+    private void compact() throws IOException {
+        Path listingPath = listingFile.toPath();
+        Path tempPath = listingPath.resolveSibling(listingPath.getFileName() + ".tmp");
+        try (BufferedWriter fileWriter = new BufferedWriter(new FileWriter(tempPath.toFile()))) {
+            fileWriter.write(watchDir);
+            fileWriter.newLine();
+            for (String file : files) {
+                fileWriter.write(file);
+                fileWriter.newLine();
+            }
+        }
+        Files.move(tempPath, listingPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        listingLines = files.size();
+    }
+}
@@ -16,20 +16,29 @@ import static org.openhab.binding.folderwatcher.internal.FolderWatcherBindingCon
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
 import java.nio.file.FileVisitor;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.openhab.binding.folderwatcher.internal.common.WatcherCommon;
+import org.openhab.binding.folderwatcher.internal.common.FolderIndex;
 import org.openhab.binding.folderwatcher.internal.config.LocalFolderWatcherConfiguration;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.thing.ChannelUID;
@@ -46,16 +55,25 @@ import org.slf4j.LoggerFactory;
  * The {@link LocalFolderWatcherHandler} is responsible for handling commands, which are
  * sent to one of the channels.
  *
+ * The folder is either polled, or watched for file system events with a {@link WatchService}. In the latter case the
+ * folder is only scanned completely on startup and when the watch service reports an overflow.
+ *
  * @author Alexandr Salamatov - Initial contribution
  */
 @NonNullByDefault
 public class LocalFolderWatcherHandler extends BaseThingHandler {
+    private static final long WATCH_THREAD_JOIN_TIMEOUT_MS = 5000;
+
     private final Logger logger = LoggerFactory.getLogger(LocalFolderWatcherHandler.class);
     private LocalFolderWatcherConfiguration config = new LocalFolderWatcherConfiguration();
     private File currentLocalListingFile = new File(OpenHAB.getUserDataFolder() + File.separator + "FolderWatcher"
             + File.separator + thing.getUID().getAsString().replace(':', '_') + ".data");
     private @Nullable ScheduledFuture<?> executionJob;
-    private List<String> previousLocalListing = new ArrayList<>();
+    private @Nullable Thread watchThread;
+    private volatile @Nullable WatchService watchService;
+    private volatile boolean disposed;
+    private FolderIndex folderIndex = new FolderIndex(currentLocalListingFile, "");
+    private final Map<WatchKey, Path> watchedFolders = new HashMap<>();
 
     public LocalFolderWatcherHandler(Thing thing) {
         super(thing);
@@ -72,21 +90,28 @@ public class LocalFolderWatcherHandler extends BaseThingHandler {
     @Override
     public void initialize() {
         config = getConfigAs(LocalFolderWatcherConfiguration.class);
+        disposed = false;
         updateStatus(ThingStatus.UNKNOWN);
 
         if (!Files.isDirectory(Paths.get(config.localDir))) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, "Local directory is not valid");
             return;
         }
+        folderIndex = new FolderIndex(currentLocalListingFile, config.localDir);
         try {
-            previousLocalListing = WatcherCommon.initStorage(currentLocalListingFile, config.localDir);
+            folderIndex.load();
         } catch (IOException e) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
             logger.debug("Can't write file {}: {}", currentLocalListingFile, e.getMessage());
             return;
         }
 
-        if (config.pollIntervalLocal > 0) {
+        if (config.useWatchServiceLocal) {
+            Thread watchThread = new Thread(this::watchFolder, "OH-binding-" + thing.getUID().getAsString());
+            watchThread.setDaemon(true);
+            this.watchThread = watchThread;
+            watchThread.start();
+        } else if (config.pollIntervalLocal > 0) {
             updateStatus(ThingStatus.ONLINE);
             executionJob = scheduler.scheduleWithFixedDelay(this::refreshFolderInformation, config.pollIntervalLocal,
                     config.pollIntervalLocal, TimeUnit.SECONDS);
@@ -99,64 +124,232 @@ public class LocalFolderWatcherHandler extends BaseThingHandler {
 
     @Override
     public void dispose() {
+        disposed = true;
         ScheduledFuture<?> executionJob = this.executionJob;
         if (executionJob != null) {
             executionJob.cancel(true);
+            this.executionJob = null;
+        }
+        Thread watchThread = this.watchThread;
+        if (watchThread != null) {
+            watchThread.interrupt();
+        }
+        WatchService watchService = this.watchService;
+        if (watchService != null) {
+            try {
+                // wakes up the watch thread if it is waiting for events
+                watchService.close();
+            } catch (IOException e) {
+                logger.debug("Can't close watch service: {}", e.getMessage());
+            }
+            this.watchService = null;
+        }
+        if (watchThread != null) {
+            try {
+                watchThread.join(WATCH_THREAD_JOIN_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            this.watchThread = null;
         }
     }
 
     private void refreshFolderInformation() {
-        final String rootDir = config.localDir;
+        Path rootDir = Paths.get(config.localDir);
+        if (!Files.isDirectory(rootDir) || !Files.isReadable(rootDir)) {
+            // an empty listing would replace the index, and all files would be reported again later
+            logger.debug("Local directory {} is not accessible, keeping the known files", rootDir);
+            updateWatchStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
+                    "Local directory is not accessible");
+            return;
+        }
+        if (executionJob != null && getThing().getStatus() == ThingStatus.OFFLINE) {
+            // polling picks up again once the directory is back
+            updateWatchStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE, null);
+        }
         try {
-            List<String> currentLocalListing = new ArrayList<>();
-
-            Files.walkFileTree(Paths.get(rootDir), new FileVisitor<@Nullable Path>() {
-                @Override
-                public FileVisitResult preVisitDirectory(@Nullable Path dir, @Nullable BasicFileAttributes attrs)
-                        throws IOException {
-                    if (dir != null) {
-                        if (!dir.equals(Paths.get(rootDir)) && !config.listRecursiveLocal) {
-                            return FileVisitResult.SKIP_SUBTREE;
-                        }
+            triggerNewFiles(folderIndex.update(listFiles(rootDir)));
+        } catch (IOException e) {
+            logger.debug("File manipulation error: {}", e.getMessage());
+        }
+    }
+
+    private void triggerNewFiles(List<String> newFiles) {
+        for (String file : newFiles) {
+            if (disposed) {
+                return;
+            }
+            triggerChannel(CHANNEL_NEWFILE, file);
+        }
+    }
+
+    /**
+     * Status updates of the watch thread, which are dropped once the handler is disposed.
+     */
+    private void updateWatchStatus(ThingStatus status, ThingStatusDetail statusDetail, @Nullable String description) {
+        if (!disposed) {
+            updateStatus(status, statusDetail, description);
+        }
+    }
+
+    private List<String> listFiles(Path start) throws IOException {
+        final Path rootDir = Paths.get(config.localDir);
+        List<String> currentLocalListing = new ArrayList<>();
+
+        Files.walkFileTree(start, new FileVisitor<@Nullable Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(@Nullable Path dir, @Nullable BasicFileAttributes attrs)
+                    throws IOException {
+                if (dir != null) {
+                    if (!dir.equals(rootDir) && !config.listRecursiveLocal) {
+                        return FileVisitResult.SKIP_SUBTREE;
                     }
-                    return FileVisitResult.CONTINUE;
                 }
+                return FileVisitResult.CONTINUE;
+            }
 
-                @Override
-                public FileVisitResult visitFile(@Nullable Path file, @Nullable BasicFileAttributes attrs)
-                        throws IOException {
-                    if (file != null) {
-                        if (Files.isHidden(file) && !config.listHiddenLocal) {
-                            return FileVisitResult.CONTINUE;
-                        }
-                        currentLocalListing.add(file.toAbsolutePath().toString());
+            @Override
+            public FileVisitResult visitFile(@Nullable Path file, @Nullable BasicFileAttributes attrs)
+                    throws IOException {
+                if (file != null) {
+                    if (Files.isHidden(file) && !config.listHiddenLocal) {
+                        return FileVisitResult.CONTINUE;
                     }
-                    return FileVisitResult.CONTINUE;
+                    currentLocalListing.add(file.toAbsolutePath().toString());
                 }
+                return FileVisitResult.CONTINUE;
+            }
 
-                @Override
-                public FileVisitResult visitFileFailed(@Nullable Path file, @Nullable IOException exc)
-                        throws IOException {
-                    return FileVisitResult.CONTINUE;
-                }
+            @Override
+            public FileVisitResult visitFileFailed(@Nullable Path file, @Nullable IOException exc)
+                    throws IOException {
+                return FileVisitResult.CONTINUE;
+            }
 
-                @Override
-                public FileVisitResult postVisitDirectory(@Nullable Path dir, @Nullable IOException exc)
-                        throws IOException {
-                    return FileVisitResult.CONTINUE;
-                }
-            });
+            @Override
+            public FileVisitResult postVisitDirectory(@Nullable Path dir, @Nullable IOException exc)
+                    throws IOException {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return currentLocalListing;
+    }
+
+    /**
+     * Runs in its own thread until the handler is disposed. Only the events of the watch service are processed, the
+     * complete folder is scanned on startup and after an overflow.
+     */
+    private void watchFolder() {
+        final Path rootDir = Paths.get(config.localDir);
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            this.watchService = watchService;
+            // register first, so that no file created during the scan is missed
+            registerFolders(watchService, rootDir);
+            refreshFolderInformation();
+            updateWatchStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE, null);
+
+            while (!disposed && !Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                do {
+                    processEvents(watchService, key);
+                    // handle all keys which are ready in one go
+                    key = watchService.poll();
+                } while (key != null);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // handler was disposed
+        } catch (IOException e) {
+            logger.debug("Can't watch folder {}: {}", rootDir, e.getMessage());
+            updateWatchStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, e.getMessage());
+        } finally {
+            watchedFolders.clear();
+        }
+    }
 
-            List<String> diffLocalListing = new ArrayList<>(currentLocalListing);
-            diffLocalListing.removeAll(previousLocalListing);
-            diffLocalListing.forEach(file -> triggerChannel(CHANNEL_NEWFILE, file));
+    private void processEvents(WatchService watchService, WatchKey key) {
+        Path folder = watchedFolders.get(key);
+        List<String> createdFiles = new ArrayList<>();
+        boolean overflow = false;
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+            } else if (folder != null) {
+                Path path = folder.resolve((Path) event.context());
+                try {
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                        if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                            if (config.listRecursiveLocal) {
+                                // files might have been created before the new folder was registered
+                                registerFolders(watchService, path);
+                                createdFiles.addAll(listFiles(path));
+                            }
+                        } else if (config.listHiddenLocal || !Files.isHidden(path)) {
+                            createdFiles.add(path.toAbsolutePath().toString());
+                        }
+                    } else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                        folderIndex.remove(path.toAbsolutePath().toString());
+                    }
+                } catch (IOException e) {
+                    // the file might already be gone again
+                    logger.debug("Can't process {} event for {}: {}", event.kind(), path, e.getMessage());
+                }
+            }
+        }
+        if (!key.reset()) {
+            watchedFolders.remove(key);
+        }
 
-            if (!diffLocalListing.isEmpty()) {
-                WatcherCommon.saveNewListing(diffLocalListing, currentLocalListingFile);
+        try {
+            if (overflow) {
+                logger.debug("Watch service of folder {} overflowed, rescanning folder", config.localDir);
+                registerFolders(watchService, Paths.get(config.localDir));
+                refreshFolderInformation();
+            } else if (!createdFiles.isEmpty()) {
+                triggerNewFiles(folderIndex.addAll(createdFiles));
             }
-            previousLocalListing = new ArrayList<>(currentLocalListing);
         } catch (IOException e) {
             logger.debug("File manipulation error: {}", e.getMessage());
         }
     }
+
+    private void registerFolders(WatchService watchService, Path start) throws IOException {
+        if (!config.listRecursiveLocal) {
+            watchedFolders.put(register(watchService, start), start);
+            return;
+        }
+        Files.walkFileTree(start, new FileVisitor<@Nullable Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(@Nullable Path dir, @Nullable BasicFileAttributes attrs)
+                    throws IOException {
+                if (dir != null) {
+                    watchedFolders.put(register(watchService, dir), dir);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(@Nullable Path file, @Nullable BasicFileAttributes attrs)
+                    throws IOException {
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(@Nullable Path file, @Nullable IOException exc)
+                    throws IOException {
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(@Nullable Path dir, @Nullable IOException exc)
+                    throws IOException {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private WatchKey register(WatchService watchService, Path folder) throws IOException {
+        return folder.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE);
+    }
 }
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.folderwatcher.internal.common;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link FolderIndex}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class FolderIndexTest {
+    private static final String WATCH_DIR = "/watched";
+
+    public @TempDir @NonNullByDefault({}) File folder;
+
+    private @NonNullByDefault({}) File listingFile;
+
+    @BeforeEach
+    public void setUp() {
+        listingFile = new File(folder, "FolderWatcher" + File.separator + "listing.data");
+    }
+
+    private FolderIndex loadIndex() throws IOException {
+        FolderIndex index = new FolderIndex(listingFile, WATCH_DIR);
+        index.load();
+        return index;
+    }
+
+    private List<String> readListing() throws IOException {
+        return Files.readAllLines(listingFile.toPath());
+    }
+
+    @Test
+    public void newFilesAreAppended() throws IOException {
+        FolderIndex index = loadIndex();
+        assertThat(readListing(), is(List.of(WATCH_DIR)));
+
+        assertThat(index.addAll(List.of("/watched/a", "/watched/b")), is(List.of("/watched/a", "/watched/b")));
+        assertThat(index.addAll(List.of("/watched/b", "/watched/c")), is(List.of("/watched/c")));
+        assertThat(index.update(List.of("/watched/a", "/watched/d")), is(List.of("/watched/d")));
+
+        assertThat(readListing(), is(List.of(WATCH_DIR, "/watched/a", "/watched/b", "/watched/c", "/watched/d")));
+    }
+
+    @Test
+    public void indexIsReloaded() throws IOException {
+        loadIndex().addAll(List.of("/watched/a", "/watched/b"));
+
+        FolderIndex index = loadIndex();
+        assertThat(index.addAll(List.of("/watched/a", "/watched/b", "/watched/c")), is(List.of("/watched/c")));
+    }
+
+    @Test
+    public void listingOfOtherFolderIsDiscarded() throws IOException {
+        loadIndex().addAll(List.of("/watched/a"));
+
+        FolderIndex index = new FolderIndex(listingFile, "/other");
+        index.load();
+        assertThat(index.addAll(List.of("/watched/a")), is(List.of("/watched/a")));
+        assertThat(readListing(), is(List.of("/other", "/watched/a")));
+    }
+
+    @Test
+    public void removedFilesAreReportedAgain() throws IOException {
+        FolderIndex index = loadIndex();
+        index.addAll(List.of("/watched/a", "/watched/sub/b", "/watched/sub/c"));
+
+        index.remove("/watched/a");
+        index.remove("/watched/sub");
+        assertThat(index.addAll(List.of("/watched/a", "/watched/sub/b")), is(List.of("/watched/a", "/watched/sub/b")));
+    }
+
+    @Test
+    public void removedFoldersAreReportedAgain() throws IOException {
+        FolderIndex index = loadIndex();
+        index.update(List.of("/watched/a", "/watched/sub/b", "/watched/sub/deep/c", "/watched/subfolder/d"));
+
+        // unknown paths and files which only share the prefix of a folder are kept
+        index.remove("/watched/unknown");
+        index.remove("/watched/sub/deep");
+        assertThat(index.addAll(List.of("/watched/a", "/watched/sub/b", "/watched/sub/deep/c")),
+                is(List.of("/watched/sub/deep/c")));
+
+        index.remove("/watched/sub");
+        assertThat(index.addAll(List.of("/watched/sub/b", "/watched/sub/deep/c", "/watched/subfolder/d")),
+                is(List.of("/watched/sub/b", "/watched/sub/deep/c")));
+
+        // the folders are known after a reload as well
+        index = loadIndex();
+        index.remove("/watched/sub/deep");
+        assertThat(index.addAll(List.of("/watched/sub/b", "/watched/sub/deep/c")), is(List.of("/watched/sub/deep/c")));
+    }
+
+    @Test
+    public void listingIsCompacted() throws IOException {
+        List<String> files = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            files.add("/watched/" + i);
+        }
+        FolderIndex index = loadIndex();
+        index.update(files);
+        assertThat(readListing().size(), is(1001));
+
+        // All files are replaced, the stale entries exceed the limit
+        assertThat(index.update(List.of("/watched/new")), is(List.of("/watched/new")));
+        assertThat(readListing(), is(List.of(WATCH_DIR, "/watched/new")));
+        assertThat(new File(listingFile.getPath() + ".tmp").exists(), is(false));
+
+        // The compacted listing is appended to and reloaded
+        index.addAll(List.of("/watched/other"));
+        assertThat(readListing(), is(List.of(WATCH_DIR, "/watched/new", "/watched/other")));
+        assertThat(loadIndex().update(List.of("/watched/new", "/watched/other", "/watched/0")),
+                is(List.of("/watched/0")));
+    }
+}
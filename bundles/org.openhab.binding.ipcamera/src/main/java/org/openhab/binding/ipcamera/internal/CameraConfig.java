@@ -42,6 +42,7 @@ public class CameraConfig {
     private String ffmpegLocation = "";
     private String ffmpegOutput = "";
     private String hlsOutOptions = "";
+    private int hlsSegmentCache;
     private String gifOutOptions = "";
     private String mp4OutOptions = "";
     private String mjpegOptions = "";
@@ -82,6 +83,10 @@ public class CameraConfig {
         return hlsOutOptions;
     }
 
+    public int getHlsSegmentCache() {
+        return hlsSegmentCache;
+    }
+
     public String getIpWhitelist() {
         return ipWhitelist;
     }
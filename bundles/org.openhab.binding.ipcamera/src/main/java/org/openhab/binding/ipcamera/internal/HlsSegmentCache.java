@@ -0,0 +1,240 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+/**
+ * The {@link HlsSegmentCache} keeps the HLS playlist that ffmpeg creates for a camera and optionally the last
+ * segments of it in RAM, so that several viewers do not read the same files again and again from disk.
+ * A segment is loaded once, as soon as ffmpeg has finished it and lists it in the playlist. Segments that are no
+ * longer in the playlist or exceed the configured number are released.
+ *
+ * Files are read by one refreshing thread at a time without holding the lock that readers need, and the asynchronous
+ * methods do it on the given executor, so that the Netty event loop never waits for the disk. A cached buffer is only
+ * retained or released while holding the segment lock, so a reader never gets a buffer that is already released and
+ * recycled by the pooled allocator.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+
+@NonNullByDefault
+public class HlsSegmentCache {
+    public static final String PLAYLIST = "ipcamera.m3u8";
+
+    private static class Segment {
+        final ByteBuf data;
+        final long modified;
+
+        Segment(ByteBuf data, long modified) {
+            this.data = data;
+            this.modified = modified;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final String folder;
+    private final int maxSegments;
+    private final Executor executor;
+    // held while reading files, cached segments are returned without it
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    // held to retain a cached buffer, or to remove and release it, never while reading files
+    private final Object segmentLock = new Object();
+    private final Map<String, Segment> segments = new ConcurrentHashMap<>();
+    private volatile String playlist = "";
+
+    /**
+     * @param folder the ffmpeg output folder, ending with a separator
+     * @param maxSegments how many segments to keep in RAM, 0 only caches the playlist
+     * @param executor runs the file reads of the asynchronous methods
+     */
+    public HlsSegmentCache(String folder, int maxSegments, Executor executor) {
+        this.folder = folder;
+        this.maxSegments = maxSegments;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the playlist, reading the file again and updating the cached segments if ffmpeg has changed it. Blocks
+     * while files are read, so this must not be called from the Netty event loop.
+     *
+     * @throws IOException if the playlist could not be read
+     */
+    public String getPlaylist() throws IOException {
+        refresh();
+        return playlist;
+    }
+
+    /**
+     * Returns the playlist like {@link #getPlaylist()}, with the file read on the executor.
+     */
+    public CompletableFuture<String> getPlaylistAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return getPlaylist();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Returns a segment of the playlist from RAM. A segment that is not cached yet is looked up again on the
+     * executor after refreshing the playlist, a cached segment is returned right away.
+     *
+     * @param name file name of the segment, like "ipcamera5.ts"
+     * @return a future of a retained buffer that the caller has to write or release, or of <code>null</code> if the
+     *         segment is not cached and has to be read from disk
+     */
+    public CompletableFuture<@Nullable ByteBuf> getSegmentAsync(String name) {
+        if (maxSegments <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        ByteBuf cached = getCachedSegment(name);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                refresh();
+            } catch (IOException e) {
+                logger.debug("Could not read the HLS playlist: {}", e.getMessage());
+                return null;
+            }
+            return getCachedSegment(name);
+        }, executor);
+    }
+
+    private @Nullable ByteBuf getCachedSegment(String name) {
+        synchronized (segmentLock) {
+            Segment segment = segments.get(name);
+            return segment == null ? null : segment.data.retainedDuplicate();
+        }
+    }
+
+    /**
+     * Releases all cached segments, for example when ffmpeg stops and starts with new segments.
+     */
+    public void clear() {
+        refreshLock.lock();
+        try {
+            for (Iterator<Segment> it = segments.values().iterator(); it.hasNext();) {
+                Segment segment = it.next();
+                synchronized (segmentLock) {
+                    it.remove();
+                    segment.data.release();
+                }
+            }
+            playlist = "";
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void refresh() throws IOException {
+        refreshLock.lock();
+        try {
+            // the playlist is small, its content is compared because a sliding playlist often keeps its length and
+            // the modification time of the file is not precise enough
+            String newPlaylist;
+            try (FileInputStream in = new FileInputStream(folder + PLAYLIST)) {
+                newPlaylist = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            if (newPlaylist.equals(playlist)) {
+                return;
+            }
+            if (maxSegments > 0) {
+                updateSegments(newPlaylist);
+            }
+            playlist = newPlaylist;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void updateSegments(String newPlaylist) {
+        List<String> names = new ArrayList<>();
+        for (String line : newPlaylist.split("\n")) {
+            String name = line.trim();
+            if (!name.isEmpty() && !name.startsWith("#")) {
+                names.add(name);
+            }
+        }
+        List<String> keep = names.subList(Math.max(0, names.size() - maxSegments), names.size());
+        for (Iterator<Map.Entry<String, Segment>> it = segments.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<String, Segment> entry = it.next();
+            // a restarted ffmpeg reuses the file names
+            if (!keep.contains(entry.getKey())
+                    || new File(folder + entry.getKey()).lastModified() != entry.getValue().modified) {
+                synchronized (segmentLock) {
+                    it.remove();
+                    entry.getValue().data.release();
+                }
+            }
+        }
+        for (String name : keep) {
+            if (!segments.containsKey(name)) {
+                Segment segment = readSegment(name);
+                if (segment != null) {
+                    segments.put(name, segment);
+                }
+            }
+        }
+    }
+
+    private @Nullable Segment readSegment(String name) {
+        long modified = new File(folder + name).lastModified();
+        try (RandomAccessFile file = new RandomAccessFile(folder + name, "r")) {
+            FileChannel channel = file.getChannel();
+            int size = (int) channel.size();
+            ByteBuf segment = ByteBufAllocator.DEFAULT.directBuffer(size);
+            try {
+                while (segment.writerIndex() < size) {
+                    if (segment.writeBytes(channel, segment.writerIndex(), size - segment.writerIndex()) < 0) {
+                        break;
+                    }
+                }
+                logger.trace("Cached HLS segment {} with {} bytes", name, size);
+                return new Segment(segment, modified);
+            } catch (IOException e) {
+                segment.release();
+                throw e;
+            }
+        } catch (IOException e) {
+            logger.debug("Could not cache HLS segment {}: {}", name, e.getMessage());
+            return null;
+        }
+    }
+}
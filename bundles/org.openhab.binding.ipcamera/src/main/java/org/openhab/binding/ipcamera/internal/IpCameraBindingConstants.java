@@ -71,6 +71,7 @@ public class IpCameraBindingConstants {
     // List of all Thing Config items
     public static final String CONFIG_IPADDRESS = "ipAddress";
     public static final String CONFIG_ONVIF_PORT = "onvifPort";
+    public static final String CONFIG_HLS_SEGMENT_CACHE = "hlsSegmentCache";
 
     // List of all Channel ids
     public static final String CHANNEL_POLL_IMAGE = "pollImage";
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import static org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.*;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.config.core.ConfigDescription;
+import org.openhab.core.config.core.ConfigDescriptionBuilder;
+import org.openhab.core.config.core.ConfigDescriptionParameter;
+import org.openhab.core.config.core.ConfigDescriptionParameter.Type;
+import org.openhab.core.config.core.ConfigDescriptionParameterBuilder;
+import org.openhab.core.config.core.ConfigDescriptionProvider;
+import org.openhab.core.thing.ThingTypeUID;
+import org.osgi.service.component.annotations.Component;
+
+/**
+ * The {@link IpCameraConfigDescriptionProvider} adds the config parameters that all camera thing types share, so they
+ * are defined once instead of in every thing type of the thing-types.xml. The registry merges them with the parameters
+ * and groups from the XML.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConfigDescriptionProvider.class)
+public class IpCameraConfigDescriptionProvider implements ConfigDescriptionProvider {
+    private final Map<URI, ConfigDescription> configDescriptions = new HashMap<>();
+
+    public IpCameraConfigDescriptionProvider() {
+        ConfigDescriptionParameter hlsSegmentCache = ConfigDescriptionParameterBuilder
+                .create(CONFIG_HLS_SEGMENT_CACHE, Type.INTEGER) //
+                .withRequired(false) //
+                .withMinimum(BigDecimal.ZERO) //
+                .withMaximum(BigDecimal.valueOf(20)) //
+                .withGroupName("FFmpeg Setup") //
+                .withLabel("HLS Segment Cache") //
+                .withDescription("Keep this many of the latest HLS segments in RAM, so they are read only once "
+                        + "from disk no matter how many viewers there are. 0 serves all segments from disk.") //
+                .withDefault("0") //
+                .withAdvanced(true) //
+                .build();
+        for (ThingTypeUID thingTypeUID : SUPPORTED_THING_TYPES) {
+            URI uri = URI.create("thing-type:" + thingTypeUID.getAsString());
+            configDescriptions.put(uri, ConfigDescriptionBuilder.create(uri).withParameter(hlsSegmentCache).build());
+        }
+    }
+
+    @Override
+    public Collection<ConfigDescription> getConfigDescriptions(@Nullable Locale locale) {
+        return configDescriptions.values();
+    }
+
+    @Override
+    public @Nullable ConfigDescription getConfigDescription(URI uri, @Nullable Locale locale) {
+        return configDescriptions.get(uri);
+    }
+}
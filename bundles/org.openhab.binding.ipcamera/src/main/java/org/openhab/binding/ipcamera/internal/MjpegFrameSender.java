@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.group.ChannelGroup;
+
+/**
+ * The {@link MjpegFrameSender} sends jpg frames as multipart MJPEG stream to all channels of a {@link ChannelGroup}.
+ * Each frame is wrapped once and every channel gets a reference counted duplicate of it, so the image data is never
+ * copied. Channels that are not writable, because the client has not read the previous frames yet, skip the frame
+ * instead of queueing it.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+
+@NonNullByDefault
+public class MjpegFrameSender {
+    private static final byte[] HEADER_START = ("--thisMjpegStream\r\ncontent-type: image/jpeg\r\ncontent-length: ")
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEADER_END = "\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final ByteBuf FOOTER = Unpooled
+            .unreleasableBuffer(Unpooled.wrappedBuffer("\r\n".getBytes(StandardCharsets.US_ASCII)).asReadOnly());
+
+    private final String name;
+    private final ChannelGroup channelGroup;
+    private final AtomicLong frames = new AtomicLong();
+    private final AtomicLong framesSent = new AtomicLong();
+    private final AtomicLong framesDropped = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+    private long statisticsTime = System.currentTimeMillis();
+    private long statisticsFrames = 0;
+
+    public MjpegFrameSender(String name, ChannelGroup channelGroup) {
+        this.name = name;
+        this.channelGroup = channelGroup;
+    }
+
+    /**
+     * Sends the jpg to all writable channels of the group. The array is wrapped, not copied, and must not be changed
+     * afterwards.
+     */
+    public void sendFrame(byte[] jpg) {
+        sendFrame(Unpooled.wrappedBuffer(jpg));
+    }
+
+    /**
+     * Sends the jpg to all writable channels of the group. Takes over the reference of the given buffer.
+     */
+    public void sendFrame(ByteBuf jpg) {
+        if (channelGroup.isEmpty()) {
+            jpg.release();
+            return;
+        }
+        frames.incrementAndGet();
+        ByteBuf frame = wrapFrame(jpg);
+        try {
+            int length = frame.readableBytes();
+            for (Channel channel : channelGroup) {
+                if (channel.isWritable()) {
+                    channel.writeAndFlush(frame.retainedDuplicate(), channel.voidPromise());
+                    framesSent.incrementAndGet();
+                    bytesSent.addAndGet(length);
+                } else {
+                    framesDropped.incrementAndGet();
+                }
+            }
+        } finally {
+            frame.release();
+        }
+    }
+
+    /**
+     * Sends the jpg to a single channel, even if it is not writable. Used for the first frames of a new stream.
+     */
+    public void sendFrame(Channel channel, byte[] jpg) {
+        ByteBuf frame = wrapFrame(Unpooled.wrappedBuffer(jpg));
+        framesSent.incrementAndGet();
+        bytesSent.addAndGet(frame.readableBytes());
+        channel.writeAndFlush(frame, channel.voidPromise());
+    }
+
+    private ByteBuf wrapFrame(ByteBuf jpg) {
+        String length = Integer.toString(jpg.readableBytes());
+        ByteBuf header = ByteBufAllocator.DEFAULT.buffer(HEADER_START.length + length.length() + HEADER_END.length);
+        header.writeBytes(HEADER_START);
+        ByteBufUtil.writeAscii(header, length);
+        header.writeBytes(HEADER_END);
+        return Unpooled.wrappedBuffer(header, jpg, FOOTER.duplicate());
+    }
+
+    /**
+     * @return the number of frames streamed to the group
+     */
+    public long getFrames() {
+        return frames.get();
+    }
+
+    /**
+     * @return the number of frames written to the clients, each client counts separately
+     */
+    public long getFramesSent() {
+        return framesSent.get();
+    }
+
+    public long getFramesDropped() {
+        return framesDropped.get();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    /**
+     * Returns the counters together with the frames per second sent since the last call.
+     */
+    public synchronized String getStatistics() {
+        long now = System.currentTimeMillis();
+        long count = frames.get();
+        double fps = now > statisticsTime ? (count - statisticsFrames) * 1000.0 / (now - statisticsTime) : 0;
+        statisticsTime = now;
+        statisticsFrames = count;
+        return String.format("%s: clients=%d fps=%.1f frames=%d sent=%d dropped=%d bytes=%d", name,
+                channelGroup.size(), fps, count, framesSent.get(), framesDropped.get(), bytesSent.get());
+    }
+}
@@ -14,8 +14,8 @@ package org.openhab.binding.ipcamera.internal;
 
 import static org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.CHANNEL_START_STREAM;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 
@@ -32,6 +32,8 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.FileRegion;
 import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
@@ -41,7 +43,6 @@ import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.QueryStringDecoder;
-import io.netty.handler.stream.ChunkedFile;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.util.ReferenceCountUtil;
@@ -114,8 +115,7 @@ public class StreamServerGroupHandler extends ChannelInboundHandlerAdapter {
                             return;
                         default:
                             if (httpRequest.uri().contains(".ts")) {
-                                sendFile(ctx, resolveIndexToPath(httpRequest.uri()) + httpRequest.uri().substring(2),
-                                        "video/MP2T");
+                                sendSegment(ctx, httpRequest.uri());
                             } else if (httpRequest.uri().contains(".jpg")) {
                                 sendFile(ctx, httpRequest.uri(), "image/jpg");
                             } else if (httpRequest.uri().contains(".m4s") || httpRequest.uri().contains(".mp4")) {
@@ -156,33 +156,58 @@ public class StreamServerGroupHandler extends ChannelInboundHandlerAdapter {
 
     private void sendFile(ChannelHandlerContext ctx, String fileUri, String contentType) throws IOException {
         logger.trace("file is :{}", fileUri);
-        File file = new File(fileUri);
-        ChunkedFile chunkedFile = new ChunkedFile(file);
-        ByteBuf footerBbuf = Unpooled.copiedBuffer("\r\n", 0, 2, StandardCharsets.UTF_8);
-        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
-        response.headers().add(HttpHeaderNames.CONTENT_TYPE, contentType);
-        response.headers().set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE);
-        response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
-        response.headers().add(HttpHeaderNames.CONTENT_LENGTH, chunkedFile.length());
-        response.headers().add("Access-Control-Allow-Origin", "*");
-        response.headers().add("Access-Control-Expose-Headers", "*");
-        ctx.channel().write(response);
-        ctx.channel().write(chunkedFile);
-        ctx.channel().writeAndFlush(footerBbuf);
+        RandomAccessFile file = new RandomAccessFile(fileUri, "r");
+        FileRegion region;
+        try {
+            // transferred by the kernel from the file to the socket, without reading it into the heap
+            region = new DefaultFileRegion(file.getChannel(), 0, file.length());
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+        sendContent(ctx, region, region.count(), contentType);
+    }
+
+    // example is /1ipcameraxx.ts, the segments of the cameras are served from their HLS segment cache if possible
+    private void sendSegment(ChannelHandlerContext ctx, String uri) throws IOException {
+        if (!uri.substring(1, 2).equals("i")) {
+            int index = Integer.parseInt(uri.substring(1, 2));
+            if (index < ipCameraGroupHandler.cameraOrder.size()) {
+                // the cache reads the files off the event loop, the response is written from that thread
+                ipCameraGroupHandler.cameraOrder.get(index).hlsSegmentCache.getSegmentAsync(uri.substring(2))
+                        .whenComplete((segment, e) -> {
+                            if (segment != null) {
+                                sendContent(ctx, segment, segment.readableBytes(), "video/MP2T");
+                                return;
+                            }
+                            try {
+                                sendFile(ctx, resolveIndexToPath(uri) + uri.substring(2), "video/MP2T");
+                            } catch (IOException ex) {
+                                ctx.pipeline().fireExceptionCaught(ex);
+                            }
+                        });
+                return;
+            }
+        }
+        sendFile(ctx, resolveIndexToPath(uri) + uri.substring(2), "video/MP2T");
     }
 
     private void sendString(ChannelHandlerContext ctx, String contents, String contentType) {
         ByteBuf contentsBbuf = Unpooled.copiedBuffer(contents, 0, contents.length(), StandardCharsets.UTF_8);
+        sendContent(ctx, contentsBbuf, contentsBbuf.readableBytes(), contentType);
+    }
+
+    private void sendContent(ChannelHandlerContext ctx, Object content, long length, String contentType) {
         HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
         response.headers().add(HttpHeaderNames.CONTENT_TYPE, contentType);
         response.headers().set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE);
         response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
-        response.headers().add(HttpHeaderNames.CONTENT_LENGTH, contentsBbuf.readableBytes());
+        response.headers().add(HttpHeaderNames.CONTENT_LENGTH, length);
         response.headers().add("Access-Control-Allow-Origin", "*");
         response.headers().add("Access-Control-Expose-Headers", "*");
         ByteBuf footerBbuf = Unpooled.copiedBuffer("\r\n", 0, 2, StandardCharsets.UTF_8);
         ctx.channel().write(response);
-        ctx.channel().write(contentsBbuf);
+        ctx.channel().write(content);
         ctx.channel().writeAndFlush(footerBbuf);
     }
 
@@ -12,8 +12,8 @@
  */
 package org.openhab.binding.ipcamera.internal;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.util.concurrent.TimeUnit;
@@ -26,9 +26,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.FileRegion;
 import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaderNames;
@@ -39,7 +42,6 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.codec.http.QueryStringDecoder;
-import io.netty.handler.stream.ChunkedFile;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.util.ReferenceCountUtil;
@@ -53,6 +55,8 @@ import io.netty.util.ReferenceCountUtil;
 
 @NonNullByDefault
 public class StreamServerHandler extends ChannelInboundHandlerAdapter {
+    // a jpg arrives in chunks of 8KB, this avoids consolidating the frame for common image sizes
+    private static final int MAX_FRAME_COMPONENTS = 64;
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private IpCameraHandler ipCameraHandler;
     private boolean handlingMjpeg = false; // used to remove ctx from group when handler is removed.
@@ -60,6 +64,7 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
     private byte[] incomingJpeg = new byte[0];
     private String whiteList = "";
     private int recievedBytes = 0;
+    private @Nullable CompositeByteBuf incomingFrame;
     private boolean updateSnapshot = false;
     private boolean onvifEvent = false;
 
@@ -103,12 +108,12 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
                                 localFfmpeg.startConverting();
                             } else {
                                 localFfmpeg.setKeepAlive(8);
-                                sendFile(ctx, httpRequest.uri(), "application/x-mpegurl");
+                                sendPlaylist(ctx);
                                 return;
                             }
                             // Allow files to be created, or you get old m3u8 from the last time this ran.
                             TimeUnit.MILLISECONDS.sleep(4500);
-                            sendFile(ctx, httpRequest.uri(), "application/x-mpegurl");
+                            sendPlaylist(ctx);
                             return;
                         case "/ipcamera.mpd":
                             sendFile(ctx, httpRequest.uri(), "application/dash+xml");
@@ -147,7 +152,7 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
                         case "/ipcamera0.ts":
                         default:
                             if (httpRequest.uri().contains(".ts")) {
-                                sendFile(ctx, queryStringDecoder.path(), "video/MP2T");
+                                sendSegment(ctx, queryStringDecoder.path());
                             } else if (httpRequest.uri().contains(".gif")) {
                                 sendFile(ctx, queryStringDecoder.path(), "image/gif");
                             } else if (httpRequest.uri().contains(".jpg")) {
@@ -174,7 +179,24 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
                     }
                 }
             }
-            if (msg instanceof HttpContent) {
+            if (msg instanceof HttpContent && !updateSnapshot && !onvifEvent) {
+                // handles the snapshots that make up mjpeg from rtsp to ffmpeg conversions, without copying them.
+                HttpContent content = (HttpContent) msg;
+                CompositeByteBuf frame = incomingFrame;
+                if (frame == null) {
+                    frame = ctx.alloc().compositeBuffer(MAX_FRAME_COMPONENTS);
+                    incomingFrame = frame;
+                }
+                frame.addComponent(true, content.content().retain());
+                if (content instanceof LastHttpContent) {
+                    incomingFrame = null;
+                    if (frame.readableBytes() > 1000) {
+                        ipCameraHandler.mjpegFrameSender.sendFrame(frame);
+                    } else {
+                        frame.release();
+                    }
+                }
+            } else if (msg instanceof HttpContent) {
                 HttpContent content = (HttpContent) msg;
                 if (recievedBytes == 0) {
                     incomingJpeg = new byte[content.content().readableBytes()];
@@ -191,10 +213,6 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
                         ipCameraHandler.processSnapshot(incomingJpeg);
                     } else if (onvifEvent) {
                         ipCameraHandler.onvifCamera.eventRecieved(new String(incomingJpeg, StandardCharsets.UTF_8));
-                    } else { // handles the snapshots that make up mjpeg from rtsp to ffmpeg conversions.
-                        if (recievedBytes > 1000) {
-                            ipCameraHandler.sendMjpegFrame(incomingJpeg, ipCameraHandler.mjpegChannelGroup);
-                        }
                     }
                     recievedBytes = 0;
                 }
@@ -225,17 +243,54 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
     }
 
     private void sendFile(ChannelHandlerContext ctx, String fileUri, String contentType) throws IOException {
-        File file = new File(ipCameraHandler.cameraConfig.getFfmpegOutput() + fileUri);
-        ChunkedFile chunkedFile = new ChunkedFile(file);
+        RandomAccessFile file = new RandomAccessFile(ipCameraHandler.cameraConfig.getFfmpegOutput() + fileUri, "r");
+        FileRegion region;
+        try {
+            // transferred by the kernel from the file to the socket, without reading it into the heap
+            region = new DefaultFileRegion(file.getChannel(), 0, file.length());
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+        sendContent(ctx, region, region.count(), contentType);
+    }
+
+    // the files are read off the event loop, the response is written from the thread that read them
+    private void sendPlaylist(ChannelHandlerContext ctx) {
+        ipCameraHandler.hlsSegmentCache.getPlaylistAsync().whenComplete((playlist, e) -> {
+            if (e != null) {
+                ctx.pipeline().fireExceptionCaught(e.getCause() != null ? e.getCause() : e);
+                return;
+            }
+            byte[] bytes = playlist.getBytes(StandardCharsets.UTF_8);
+            sendContent(ctx, Unpooled.wrappedBuffer(bytes), bytes.length, "application/x-mpegurl");
+        });
+    }
+
+    private void sendSegment(ChannelHandlerContext ctx, String fileUri) {
+        ipCameraHandler.hlsSegmentCache.getSegmentAsync(fileUri.substring(1)).whenComplete((segment, e) -> {
+            if (segment != null) {
+                sendContent(ctx, segment, segment.readableBytes(), "video/MP2T");
+                return;
+            }
+            try {
+                sendFile(ctx, fileUri, "video/MP2T");
+            } catch (IOException ex) {
+                ctx.pipeline().fireExceptionCaught(ex);
+            }
+        });
+    }
+
+    private void sendContent(ChannelHandlerContext ctx, Object content, long length, String contentType) {
         HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
         response.headers().add(HttpHeaderNames.CONTENT_TYPE, contentType);
         response.headers().set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE);
         response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
-        response.headers().add(HttpHeaderNames.CONTENT_LENGTH, chunkedFile.length());
+        response.headers().add(HttpHeaderNames.CONTENT_LENGTH, length);
         response.headers().add("Access-Control-Allow-Origin", "*");
         response.headers().add("Access-Control-Expose-Headers", "*");
         ctx.channel().write(response);
-        ctx.channel().write(chunkedFile);
+        ctx.channel().write(content);
         ByteBuf footerBbuf = Unpooled.copiedBuffer("\r\n", 0, 2, StandardCharsets.UTF_8);
         ctx.channel().writeAndFlush(footerBbuf);
     }
@@ -284,6 +339,11 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
             return;
         }
         ctx.close();
+        CompositeByteBuf frame = incomingFrame;
+        if (frame != null) {
+            incomingFrame = null;
+            frame.release();
+        }
         if (handlingMjpeg) {
             ipCameraHandler.setupMjpegStreaming(false, ctx);
         } else if (handlingSnapshotStream) {
@@ -18,8 +18,6 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.net.InetSocketAddress;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -110,8 +108,7 @@ public class IpCameraGroupHandler extends BaseThingHandler {
         String camerasm3u8 = "";
         IpCameraHandler handle = cameraOrder.get(cameraIndex);
         try {
-            String file = handle.cameraConfig.getFfmpegOutput() + "ipcamera.m3u8";
-            camerasm3u8 = new String(Files.readAllBytes(Paths.get(file)));
+            camerasm3u8 = handle.hlsSegmentCache.getPlaylist();
         } catch (IOException e) {
             logger.warn("Error occured fetching a groupDisplay cameras m3u8 file :{}", e.getMessage());
         }
@@ -22,7 +22,6 @@ import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -49,11 +48,13 @@ import org.openhab.binding.ipcamera.internal.FoscamHandler;
 import org.openhab.binding.ipcamera.internal.GroupTracker;
 import org.openhab.binding.ipcamera.internal.Helper;
 import org.openhab.binding.ipcamera.internal.HikvisionHandler;
+import org.openhab.binding.ipcamera.internal.HlsSegmentCache;
 import org.openhab.binding.ipcamera.internal.HttpOnlyHandler;
 import org.openhab.binding.ipcamera.internal.InstarHandler;
 import org.openhab.binding.ipcamera.internal.IpCameraActions;
 import org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.FFmpegFormat;
 import org.openhab.binding.ipcamera.internal.IpCameraDynamicStateDescriptionProvider;
+import org.openhab.binding.ipcamera.internal.MjpegFrameSender;
 import org.openhab.binding.ipcamera.internal.MyNettyAuthHandler;
 import org.openhab.binding.ipcamera.internal.StreamServerHandler;
 import org.openhab.binding.ipcamera.internal.onvif.OnvifConnection;
@@ -136,7 +137,13 @@ public class IpCameraHandler extends BaseThingHandler {
     private final ChannelGroup snapshotMjpegChannelGroup = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
     private final ChannelGroup autoSnapshotMjpegChannelGroup = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
     public final ChannelGroup openChannels = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+    public final MjpegFrameSender mjpegFrameSender = new MjpegFrameSender("ipcamera.mjpeg", mjpegChannelGroup);
+    private final MjpegFrameSender snapshotMjpegFrameSender = new MjpegFrameSender("snapshots.mjpeg",
+            snapshotMjpegChannelGroup);
+    private final MjpegFrameSender autoSnapshotMjpegFrameSender = new MjpegFrameSender("autofps.mjpeg",
+            autoSnapshotMjpegChannelGroup);
     public @Nullable Ffmpeg ffmpegHLS = null;
+    public HlsSegmentCache hlsSegmentCache = new HlsSegmentCache("", 0, threadPool);
     public @Nullable Ffmpeg ffmpegRecord = null;
     public @Nullable Ffmpeg ffmpegGIF = null;
     public @Nullable Ffmpeg ffmpegRtspHelper = null;
@@ -632,14 +639,14 @@ public class IpCameraHandler extends BaseThingHandler {
         }
 
         if (streamingSnapshotMjpeg) {
-            sendMjpegFrame(incommingSnapshot, snapshotMjpegChannelGroup);
+            snapshotMjpegFrameSender.sendFrame(incommingSnapshot);
         }
         if (streamingAutoFps) {
             if (motionDetected) {
-                sendMjpegFrame(incommingSnapshot, autoSnapshotMjpegChannelGroup);
+                autoSnapshotMjpegFrameSender.sendFrame(incommingSnapshot);
             } else if (updateAutoFps) {
                 // only happens every 8 seconds as some browsers need a frame that often to keep stream alive.
-                sendMjpegFrame(incommingSnapshot, autoSnapshotMjpegChannelGroup);
+                autoSnapshotMjpegFrameSender.sendFrame(incommingSnapshot);
                 updateAutoFps = false;
             }
         }
@@ -709,9 +716,9 @@ public class IpCameraHandler extends BaseThingHandler {
                 autoSnapshotMjpegChannelGroup.add(ctx.channel());
                 lockCurrentSnapshot.lock();
                 try {
-                    sendMjpegFrame(currentSnapshot, autoSnapshotMjpegChannelGroup);
+                    autoSnapshotMjpegFrameSender.sendFrame(ctx.channel(), currentSnapshot);
                     // iOS uses a FIFO? and needs two frames to display a pic
-                    sendMjpegFrame(currentSnapshot, autoSnapshotMjpegChannelGroup);
+                    autoSnapshotMjpegFrameSender.sendFrame(ctx.channel(), currentSnapshot);
                 } finally {
                     lockCurrentSnapshot.unlock();
                 }
@@ -720,7 +727,7 @@ public class IpCameraHandler extends BaseThingHandler {
                 snapshotMjpegChannelGroup.add(ctx.channel());
                 lockCurrentSnapshot.lock();
                 try {
-                    sendMjpegFrame(currentSnapshot, snapshotMjpegChannelGroup);
+                    snapshotMjpegFrameSender.sendFrame(ctx.channel(), currentSnapshot);
                 } finally {
                     lockCurrentSnapshot.unlock();
                 }
@@ -733,11 +740,12 @@ public class IpCameraHandler extends BaseThingHandler {
             if (streamingSnapshotMjpeg && snapshotMjpegChannelGroup.isEmpty()) {
                 streamingSnapshotMjpeg = false;
                 stopSnapshotPolling();
-                logger.debug("All snapshots.mjpeg streams have stopped.");
+                logger.debug("All snapshots.mjpeg streams have stopped. {}", snapshotMjpegFrameSender.getStatistics());
             } else if (streamingAutoFps && autoSnapshotMjpegChannelGroup.isEmpty()) {
                 streamingAutoFps = false;
                 stopSnapshotPolling();
-                logger.debug("All autofps.mjpeg streams have stopped.");
+                logger.debug("All autofps.mjpeg streams have stopped. {}",
+                        autoSnapshotMjpegFrameSender.getStatistics());
             }
         }
     }
@@ -769,7 +777,7 @@ public class IpCameraHandler extends BaseThingHandler {
         } else {
             mjpegChannelGroup.remove(ctx.channel());
             if (mjpegChannelGroup.isEmpty()) {
-                logger.debug("All ipcamera.mjpeg streams have stopped.");
+                logger.debug("All ipcamera.mjpeg streams have stopped. {}", mjpegFrameSender.getStatistics());
                 if (mjpegUri.equals("ffmpeg") || mjpegUri.isEmpty()) {
                     Ffmpeg localMjpeg = ffmpegMjpeg;
                     if (localMjpeg != null) {
@@ -844,19 +852,6 @@ public class IpCameraHandler extends BaseThingHandler {
         ctx.channel().writeAndFlush(response);
     }
 
-    public void sendMjpegFrame(byte[] jpg, ChannelGroup channelGroup) {
-        final String boundary = "thisMjpegStream";
-        ByteBuf imageByteBuf = Unpooled.copiedBuffer(jpg);
-        int length = imageByteBuf.readableBytes();
-        String header = "--" + boundary + "\r\n" + "content-type: image/jpeg" + "\r\n" + "content-length: " + length
-                + "\r\n\r\n";
-        ByteBuf headerBbuf = Unpooled.copiedBuffer(header, 0, header.length(), StandardCharsets.UTF_8);
-        ByteBuf footerBbuf = Unpooled.copiedBuffer("\r\n", 0, 2, StandardCharsets.UTF_8);
-        streamToGroup(headerBbuf, channelGroup, false);
-        streamToGroup(imageByteBuf, channelGroup, false);
-        streamToGroup(footerBbuf, channelGroup, true);
-    }
-
     public void streamToGroup(Object msg, ChannelGroup channelGroup, boolean flush) {
         channelGroup.write(msg);
         if (flush) {
@@ -1645,11 +1640,18 @@ public class IpCameraHandler extends BaseThingHandler {
             logger.debug("There are {} open Channels being tracked.", openChannels.size());
             cleanChannels();
         }
+        if (logger.isTraceEnabled()) {
+            logger.trace("{}", mjpegFrameSender.getStatistics());
+            logger.trace("{}", snapshotMjpegFrameSender.getStatistics());
+            logger.trace("{}", autoSnapshotMjpegFrameSender.getStatistics());
+        }
     }
 
     @Override
     public void initialize() {
         cameraConfig = getConfigAs(CameraConfig.class);
+        hlsSegmentCache = new HlsSegmentCache(cameraConfig.getFfmpegOutput(), cameraConfig.getHlsSegmentCache(),
+                threadPool);
         snapshotUri = getCorrectUrlFormat(cameraConfig.getSnapshotUrl());
         mjpegUri = getCorrectUrlFormat(cameraConfig.getMjpegUrl());
         rtspUri = cameraConfig.getFfmpegInput();
@@ -1775,6 +1777,7 @@ public class IpCameraHandler extends BaseThingHandler {
             localFfmpeg.stopConverting();
             localFfmpeg = null;
         }
+        hlsSegmentCache.clear();
         localFfmpeg = ffmpegRecord;
         if (localFfmpeg != null) {
             localFfmpeg.stopConverting();
@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Routes telegrams to the {@link GroupAddressListener}s which are registered for their destination.
+ *
+ * The listeners are indexed by the group addresses they return on registration, so finding the receivers of a
+ * telegram is a single lookup instead of asking every listener. Each listener has its own queue of notifications,
+ * which is drained by one task on the executor. This keeps the telegrams for a listener in order and needs only one
+ * task for a burst of telegrams.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class GroupAddressListenerIndex {
+
+    private static final int MAX_BATCH_SIZE = 64;
+
+    private final Logger logger = LoggerFactory.getLogger(GroupAddressListenerIndex.class);
+
+    private final Executor executor;
+    // only modified while holding the lock of this index, so that it is consistent with the registrations
+    private final Map<GroupAddress, Set<Registration>> registrationsByAddress = new ConcurrentHashMap<>();
+    // guarded by this
+    private final Map<GroupAddressListener, Registration> registrations = new HashMap<>();
+
+    public GroupAddressListenerIndex(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Registers a listener for the group addresses returned by {@link GroupAddressListener#getGroupAddresses()}. If
+     * the listener is already registered, its group addresses are updated.
+     *
+     * @return <code>true</code> if the listener was not registered before
+     */
+    public synchronized boolean register(GroupAddressListener listener) {
+        Set<GroupAddress> addresses = new HashSet<>(listener.getGroupAddresses());
+        Registration registration = registrations.get(listener);
+        boolean added = registration == null;
+        if (registration == null) {
+            registration = new Registration(listener);
+            registrations.put(listener, registration);
+        } else if (registration.addresses.equals(addresses)) {
+            return false;
+        } else {
+            removeFromIndex(registration);
+        }
+        registration.addresses = addresses;
+        for (GroupAddress address : addresses) {
+            registrationsByAddress.computeIfAbsent(address, a -> new CopyOnWriteArraySet<>()).add(registration);
+        }
+        return added;
+    }
+
+    /**
+     * Unregisters a listener. Notifications which have not been delivered yet are dropped.
+     *
+     * @return <code>true</code> if the listener was registered
+     */
+    public synchronized boolean unregister(GroupAddressListener listener) {
+        Registration registration = registrations.remove(listener);
+        if (registration == null) {
+            return false;
+        }
+        removeFromIndex(registration);
+        registration.pending.clear();
+        return true;
+    }
+
+    private void removeFromIndex(Registration registration) {
+        for (GroupAddress address : registration.addresses) {
+            registrationsByAddress.computeIfPresent(address, (a, set) -> {
+                set.remove(registration);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    /**
+     * Queues a notification for every listener registered for the given destination.
+     *
+     * @param destination the destination of the telegram
+     * @param notification delivers the telegram to a listener
+     * @return the number of listeners registered for the destination
+     */
+    public int dispatch(GroupAddress destination, Consumer<GroupAddressListener> notification) {
+        Set<Registration> receivers = registrationsByAddress.getOrDefault(destination, Collections.emptySet());
+        for (Registration registration : receivers) {
+            registration.deliver(notification);
+        }
+        return receivers.size();
+    }
+
+    /**
+     * A registered listener together with the notifications which are waiting to be delivered to it.
+     */
+    private class Registration {
+        private final GroupAddressListener listener;
+        private final Queue<Consumer<GroupAddressListener>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // guarded by the lock of the index
+        private Set<GroupAddress> addresses = Collections.emptySet();
+
+        private Registration(GroupAddressListener listener) {
+            this.listener = listener;
+        }
+
+        private void deliver(Consumer<GroupAddressListener> notification) {
+            pending.add(notification);
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            Consumer<GroupAddressListener> notification;
+            int count = 0;
+            while ((notification = pending.poll()) != null) {
+                try {
+                    notification.accept(listener);
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to deliver a telegram to '{}': {}", listener, e.getMessage(), e);
+                }
+                if (++count >= MAX_BATCH_SIZE) {
+                    // give other tasks a chance, the flag stays set for the next run
+                    executor.execute(this::drain);
+                    return;
+                }
+            }
+            scheduled.set(false);
+            // a notification might have been added after the last poll, but before the flag was reset
+            if (!pending.isEmpty() && scheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+    }
+}
@@ -79,9 +79,13 @@ public interface KNXClient {
     /**
      * Schedule the given data point for asynchronous reading.
      *
+     * Requests for a group address which is already queued are dropped. Interactive requests are read before
+     * background requests.
+     *
      * @param datapoint the datapoint
+     * @param priority the priority of the request
      */
-    void readDatapoint(Datapoint datapoint);
+    void readDatapoint(Datapoint datapoint, ReadPriority priority);
 
     /**
      * Write a command to the KNX bus.
@@ -24,11 +24,15 @@ public class ReadDatapoint {
     private final Datapoint datapoint;
     private int retries;
     private final int limit;
+    private ReadPriority priority;
+    private final long queuedTime;
 
-    public ReadDatapoint(Datapoint datapoint, int limit) {
+    public ReadDatapoint(Datapoint datapoint, int limit, ReadPriority priority, long queuedTime) {
         this.datapoint = datapoint;
         this.retries = 0;
         this.limit = limit;
+        this.priority = priority;
+        this.queuedTime = queuedTime;
     }
 
     public Datapoint getDatapoint() {
@@ -47,6 +51,21 @@ public class ReadDatapoint {
         return limit;
     }
 
+    public ReadPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(ReadPriority priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * @return the time in milliseconds at which the read was requested
+     */
+    public long getQueuedTime() {
+        return queuedTime;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
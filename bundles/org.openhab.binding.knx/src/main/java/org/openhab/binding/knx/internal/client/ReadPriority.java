@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+/**
+ * Priority of a read request, see {@link KNXClient#readDatapoint}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public enum ReadPriority {
+    /** A user or rule is waiting for the value, e.g. after a refresh command or when a channel was linked */
+    INTERACTIVE,
+    /** Initial and periodic reads */
+    BACKGROUND
+}
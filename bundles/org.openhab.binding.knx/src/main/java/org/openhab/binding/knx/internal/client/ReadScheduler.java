@@ -0,0 +1,233 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Queue of the datapoints to be read from the KNX bus.
+ *
+ * Requests are deduplicated by group address: a request for a group address which is already queued or being read is
+ * dropped, except that an interactive request moves a queued background request to the interactive queue.
+ * Interactive requests are always read before background requests.
+ *
+ * The pause between two reads starts at the configured reading pause. It is doubled while more than
+ * {@link #BUS_LOAD_LIMIT} telegrams per second are seen on the bus or the link reported a negative confirmation, and
+ * shrinks back to the reading pause once the bus is quiet again.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class ReadScheduler {
+
+    /** telegrams per second, about half of what a TP line can carry */
+    static final int BUS_LOAD_LIMIT = 20;
+    static final int MIN_BACKOFF_PAUSE = 50;
+    static final int MAX_PAUSE = 5000;
+    private static final long LOAD_WINDOW = 1000;
+
+    private final int readingPause;
+    private final LongSupplier clock;
+
+    private final Map<GroupAddress, ReadDatapoint> pending = new HashMap<>();
+    private final Deque<ReadDatapoint> interactive = new ArrayDeque<>();
+    private final Deque<ReadDatapoint> background = new ArrayDeque<>();
+
+    private int pause;
+    private long nextRead;
+    private long windowStart;
+    private int windowFrames;
+    private int busLoad;
+    private boolean negativeConfirmation;
+
+    // metrics
+    private long requested;
+    private long deduplicated;
+    private long read;
+    private long failed;
+    private long latencySum;
+    private long maxLatency;
+
+    public ReadScheduler(int readingPause) {
+        this(readingPause, () -> System.nanoTime() / 1000000);
+    }
+
+    /**
+     * @param clock the current time in milliseconds
+     */
+    ReadScheduler(int readingPause, LongSupplier clock) {
+        this.readingPause = readingPause;
+        this.clock = clock;
+        this.pause = readingPause;
+        this.windowStart = clock.getAsLong();
+    }
+
+    /**
+     * Queues a read request, unless the group address is already queued or being read.
+     *
+     * @return <code>true</code> if the request was queued
+     */
+    public synchronized boolean add(Datapoint datapoint, ReadPriority priority, int limit) {
+        requested++;
+        GroupAddress address = datapoint.getMainAddress();
+        ReadDatapoint queued = pending.get(address);
+        if (queued == null) {
+            ReadDatapoint readDatapoint = new ReadDatapoint(datapoint, limit, priority, clock.getAsLong());
+            pending.put(address, readDatapoint);
+            queueOf(priority).add(readDatapoint);
+            return true;
+        }
+        deduplicated++;
+        if (priority == ReadPriority.INTERACTIVE && queued.getPriority() == ReadPriority.BACKGROUND
+                && background.remove(queued)) {
+            queued.setPriority(ReadPriority.INTERACTIVE);
+            interactive.add(queued);
+        }
+        return false;
+    }
+
+    /**
+     * @return the next datapoint to read or <code>null</code> if the queue is empty or the pause after the last read
+     *         has not passed yet
+     */
+    public synchronized @Nullable ReadDatapoint poll() {
+        if (clock.getAsLong() < nextRead) {
+            return null;
+        }
+        ReadDatapoint readDatapoint = interactive.poll();
+        return readDatapoint != null ? readDatapoint : background.poll();
+    }
+
+    /**
+     * Reports a successful read of a datapoint obtained by {@link #poll()}.
+     */
+    public synchronized void completed(ReadDatapoint readDatapoint) {
+        long now = clock.getAsLong();
+        pending.remove(readDatapoint.getDatapoint().getMainAddress());
+        read++;
+        long latency = now - readDatapoint.getQueuedTime();
+        latencySum += latency;
+        maxLatency = Math.max(maxLatency, latency);
+        adaptPause(now);
+    }
+
+    /**
+     * Reports a failed read of a datapoint obtained by {@link #poll()}. The datapoint is queued again, unless it
+     * has reached its retry limit.
+     *
+     * @return <code>true</code> if the datapoint will be retried
+     */
+    public synchronized boolean failed(ReadDatapoint readDatapoint) {
+        adaptPause(clock.getAsLong());
+        if (readDatapoint.getRetries() < readDatapoint.getLimit()) {
+            queueOf(readDatapoint.getPriority()).add(readDatapoint);
+            return true;
+        }
+        pending.remove(readDatapoint.getDatapoint().getMainAddress());
+        failed++;
+        return false;
+    }
+
+    /**
+     * Releases a datapoint obtained by {@link #poll()} which was neither read nor failed, e.g. because the read was
+     * interrupted. Its group address can be requested again.
+     */
+    public synchronized void cancel(ReadDatapoint readDatapoint) {
+        GroupAddress address = readDatapoint.getDatapoint().getMainAddress();
+        // ReadDatapoint equals by group address, a new request for it must be kept
+        if (pending.get(address) == readDatapoint) {
+            pending.remove(address);
+        }
+    }
+
+    /**
+     * Counts a telegram seen on the bus.
+     */
+    public synchronized void onBusFrame() {
+        updateBusLoad(clock.getAsLong());
+        windowFrames++;
+    }
+
+    public synchronized void onConfirmation(boolean positive) {
+        if (!positive) {
+            negativeConfirmation = true;
+        }
+    }
+
+    /**
+     * Drops all queued requests, e.g. when the connection is lost.
+     */
+    public synchronized void clear() {
+        pending.clear();
+        interactive.clear();
+        background.clear();
+        pause = readingPause;
+        nextRead = 0;
+        negativeConfirmation = false;
+    }
+
+    public synchronized int getQueueDepth() {
+        return interactive.size() + background.size();
+    }
+
+    /**
+     * @return the current pause between two reads in milliseconds
+     */
+    public synchronized int getPause() {
+        return pause;
+    }
+
+    public synchronized String getStatistics() {
+        return String.format(
+                "requested=%d deduplicated=%d read=%d failed=%d queueDepth=%d averageLatency=%d ms maxLatency=%d ms "
+                        + "pause=%d ms busLoad=%d/s",
+                requested, deduplicated, read, failed, interactive.size() + background.size(),
+                read > 0 ? latencySum / read : 0, maxLatency, pause, busLoad);
+    }
+
+    private Deque<ReadDatapoint> queueOf(ReadPriority priority) {
+        return priority == ReadPriority.INTERACTIVE ? interactive : background;
+    }
+
+    // must be called while holding the lock
+    private void adaptPause(long now) {
+        updateBusLoad(now);
+        if (negativeConfirmation || busLoad > BUS_LOAD_LIMIT) {
+            pause = Math.min(MAX_PAUSE, Math.max(MIN_BACKOFF_PAUSE, pause * 2));
+        } else {
+            pause = Math.max(readingPause, pause - Math.max(1, pause / 4));
+        }
+        negativeConfirmation = false;
+        nextRead = now + pause;
+    }
+
+    // must be called while holding the lock
+    private void updateBusLoad(long now) {
+        long elapsed = now - windowStart;
+        if (elapsed >= LOAD_WINDOW) {
+            busLoad = (int) (windowFrames * 1000 / elapsed);
+            windowStart = now;
+            windowFrames = 0;
+        }
+    }
+}
@@ -15,11 +15,17 @@ package org.openhab.binding.knx.internal.dpt;
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.TextStyle;
+import java.time.temporal.TemporalAccessor;
 import java.util.Arrays;
-import java.util.Calendar;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -92,8 +98,16 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
 
     private final Logger logger = LoggerFactory.getLogger(KNXCoreTypeMapper.class);
 
-    private static final String TIME_DAY_FORMAT = new String("EEE, HH:mm:ss");
-    private static final String DATE_FORMAT = new String("yyyy-MM-dd");
+    private static final DateTimeFormatter TIME_DAY_FORMATTER = DateTimeFormatter.ofPattern("EEE, HH:mm:ss",
+            Locale.US);
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter
+            .ofPattern(DateTimeType.DATE_PATTERN);
+
+    /** Sunday of the first week of 1970, the week a time of day with only a day name is placed in */
+    private static final LocalDate FIRST_WEEK = LocalDate.of(1969, 12, 28);
+
+    private final KNXDirectTypeDecoder directDecoder = new KNXDirectTypeDecoder(this::toTypeClass);
 
     /**
      * stores the openHAB type class for (supported) KNX datapoint types in a generic way.
@@ -672,6 +686,10 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
 
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
+        Type directType = directDecoder.decode(datapoint.getMainNumber(), datapoint.getDPT(), data);
+        if (directType != null) {
+            return directType;
+        }
         try {
             DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
             translator.setData(data);
@@ -786,27 +804,22 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
                         return null;
                     }
 
-                    Calendar cal = Calendar.getInstance();
                     if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
                             && !translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
                         // Pure date format, no time information
-                        cal.setTimeInMillis(translatorDateTime.getValueMilliseconds());
-                        value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
+                        value = formatMilliseconds(translatorDateTime.getValueMilliseconds());
                         return DateTimeType.valueOf(value);
                     } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
                             && translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
                         // Pure time format, no date information
-                        cal.clear();
-                        cal.set(Calendar.HOUR_OF_DAY, translatorDateTime.getHour());
-                        cal.set(Calendar.MINUTE, translatorDateTime.getMinute());
-                        cal.set(Calendar.SECOND, translatorDateTime.getSecond());
-                        value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
+                        value = LocalDate.EPOCH.atStartOfDay().plusHours(translatorDateTime.getHour())
+                                .plusMinutes(translatorDateTime.getMinute())
+                                .plusSeconds(translatorDateTime.getSecond()).format(DATE_TIME_FORMATTER);
                         return DateTimeType.valueOf(value);
                     } else if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
                             && translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
                         // Date format and time information
-                        cal.setTimeInMillis(translatorDateTime.getValueMilliseconds());
-                        value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
+                        value = formatMilliseconds(translatorDateTime.getValueMilliseconds());
                         return DateTimeType.valueOf(value);
                     }
                     break;
@@ -900,33 +913,36 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
      *         is target format of the {@link DateTimeType}
      */
     private String formatDateTime(String value, String dpt) {
-        Date date = null;
+        LocalDateTime date = null;
 
         try {
             if (DPTXlatorDate.DPT_DATE.getID().equals(dpt)) {
-                date = new SimpleDateFormat(DATE_FORMAT).parse(value);
+                date = LocalDate.parse(value, DATE_FORMATTER).atStartOfDay();
             } else if (DPTXlatorTime.DPT_TIMEOFDAY.getID().equals(dpt)) {
                 if (value.contains("no-day")) {
                     /*
                      * KNX "no-day" needs special treatment since openHAB's DateTimeType doesn't support "no-day".
-                     * Workaround: remove the "no-day" String, parse the remaining time string, which will result in a
-                     * date of "1970-01-01".
-                     * Replace "no-day" with the current day name
+                     * Workaround: replace "no-day" with the current day name
                      */
-                    StringBuffer stb = new StringBuffer(value);
-                    int start = stb.indexOf("no-day");
-                    int end = start + "no-day".length();
-                    stb.replace(start, end, String.format(Locale.US, "%1$ta", Calendar.getInstance()));
-                    value = stb.toString();
+                    value = value.replace("no-day", LocalDate.now().getDayOfWeek().getDisplayName(TextStyle.SHORT,
+                            Locale.US));
                 }
-                date = new SimpleDateFormat(TIME_DAY_FORMAT, Locale.US).parse(value);
+                TemporalAccessor parsed = TIME_DAY_FORMATTER.parse(value);
+                // the day is placed in the first week of 1970, like SimpleDateFormat does for a day name without date
+                LocalDate day = FIRST_WEEK.plusDays(DayOfWeek.from(parsed).getValue() % 7);
+                date = LocalTime.from(parsed).atDate(day);
             }
-        } catch (ParseException pe) {
+        } catch (DateTimeParseException pe) {
             // do nothing but logging
             logger.warn("Could not parse '{}' to a valid date", value);
         }
 
-        return date != null ? new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(date) : "";
+        return date != null ? date.format(DATE_TIME_FORMATTER) : "";
+    }
+
+    private static String formatMilliseconds(long milliseconds) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(milliseconds), ZoneId.systemDefault())
+                .format(DATE_TIME_FORMATTER);
     }
 
     /**
@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.StopMoveType;
+import org.openhab.core.library.types.UpDownType;
+import org.openhab.core.types.Type;
+
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes;
+
+/**
+ * Decodes the data of the common KNX datapoint types directly into openHAB types, without creating a calimero
+ * translator and without formatting and parsing the value as string.
+ *
+ * The decoder for a datapoint type is looked up once and then kept in a table. Datapoint types which are not handled
+ * here, and data which does not have the expected format, are left to the translator in {@link KNXCoreTypeMapper}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class KNXDirectTypeDecoder {
+
+    @FunctionalInterface
+    private interface Decoder {
+        @Nullable
+        Type decode(byte[] data);
+    }
+
+    private static final Decoder UNSUPPORTED = data -> null;
+
+    private static final DecimalType DECIMAL_ZERO = DecimalType.valueOf("0");
+    private static final DecimalType DECIMAL_ONE = DecimalType.valueOf("1");
+
+    private final Function<String, @Nullable Class<? extends Type>> typeClasses;
+    private final Map<String, Decoder> decoders = new ConcurrentHashMap<>();
+
+    /**
+     * @param typeClasses the openHAB type class for a datapoint type id, see {@link KNXCoreTypeMapper#toTypeClass}
+     */
+    public KNXDirectTypeDecoder(Function<String, @Nullable Class<? extends Type>> typeClasses) {
+        this.typeClasses = typeClasses;
+    }
+
+    /**
+     * Decodes the data of a datapoint.
+     *
+     * @param mainNumber the main number of the datapoint, as used for creating a translator
+     * @param dptId the datapoint type id
+     * @param data the data as received from the bus
+     * @return the decoded type or <code>null</code> if the datapoint type or data has to be decoded by the translator
+     */
+    public @Nullable Type decode(int mainNumber, String dptId, byte[] data) {
+        Decoder decoder = decoders.get(dptId);
+        if (decoder == null) {
+            decoder = decoders.computeIfAbsent(dptId, id -> createDecoder(mainNumber, id));
+        }
+        return decoder.decode(data);
+    }
+
+    private Decoder createDecoder(int mainNumber, String dptId) {
+        String id;
+        try {
+            // resolves the id the same way as the translator does and rejects unknown datapoint types
+            id = TranslatorTypes.createTranslator(mainNumber, dptId).getType().getID();
+        } catch (KNXException e) {
+            return UNSUPPORTED;
+        }
+        int separator = id.indexOf('.');
+        int main;
+        int sub;
+        try {
+            main = Integer.parseInt(id.substring(0, separator));
+            sub = Integer.parseInt(id.substring(separator + 1));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return UNSUPPORTED;
+        }
+        switch (main) {
+            case 1:
+                switch (sub) {
+                    case 8:
+                        return booleanDecoder(UpDownType.UP, UpDownType.DOWN);
+                    case 9:
+                    case 19:
+                        return booleanDecoder(OpenClosedType.CLOSED, OpenClosedType.OPEN);
+                    case 10:
+                        return booleanDecoder(StopMoveType.STOP, StopMoveType.MOVE);
+                    case 22:
+                        return booleanDecoder(DECIMAL_ZERO, DECIMAL_ONE);
+                    default:
+                        return booleanDecoder(OnOffType.OFF, OnOffType.ON);
+                }
+            case 5:
+                switch (sub) {
+                    case 1:
+                        // DPT_Scaling, 0..255 is 0..100 %
+                        return numberDecoder(id, data -> data.length < 1 ? Double.NaN
+                                : Math.round((data[0] & 0xff) * 100.0 / 255));
+                    case 3:
+                        // DPT_Angle, 0..255 is 0..360 degrees
+                        return numberDecoder(id, data -> data.length < 1 ? Double.NaN
+                                : Math.round((data[0] & 0xff) * 360.0 / 255));
+                    case 4:
+                    case 5:
+                    case 6:
+                    case 10:
+                        return numberDecoder(id, data -> data.length < 1 ? Double.NaN : data[0] & 0xff);
+                    default:
+                        return UNSUPPORTED;
+                }
+            case 9:
+                return numberDecoder(id, KNXDirectTypeDecoder::decode2ByteFloat);
+            case 12:
+                return numberDecoder(id, data -> data.length < 4 ? Double.NaN : decode4Byte(data) & 0xffffffffL);
+            case 13:
+                // flow rate 13.002 has a resolution of 0.0001, leave it to the translator
+                return sub == 2 ? UNSUPPORTED
+                        : numberDecoder(id, data -> data.length < 4 ? Double.NaN : decode4Byte(data));
+            case 14:
+                return numberDecoder(id,
+                        data -> data.length < 4 ? Double.NaN : Float.intBitsToFloat(decode4Byte(data)));
+            case 232:
+                if (!HSBType.class.equals(typeClasses.apply(id))) {
+                    return UNSUPPORTED;
+                }
+                return data -> data.length < 3 ? null
+                        : HSBType.fromRGB(data[0] & 0xff, data[1] & 0xff, data[2] & 0xff);
+            default:
+                return UNSUPPORTED;
+        }
+    }
+
+    private static Decoder booleanDecoder(Type off, Type on) {
+        return data -> data.length < 1 ? null : (data[0] & 0x01) != 0 ? on : off;
+    }
+
+    /**
+     * Creates a decoder for a numeric datapoint type, the value function returns {@link Double#NaN} for data it
+     * cannot decode.
+     */
+    private Decoder numberDecoder(String id, ToDoubleFunction<byte[]> value) {
+        Class<? extends Type> typeClass = typeClasses.apply(id);
+        if (PercentType.class.equals(typeClass)) {
+            return data -> {
+                double v = value.applyAsDouble(data);
+                return Double.isNaN(v) ? null : new PercentType(BigDecimal.valueOf(Math.round(v)));
+            };
+        }
+        if (DecimalType.class.equals(typeClass)) {
+            return data -> {
+                double v = value.applyAsDouble(data);
+                return Double.isNaN(v) ? null : new DecimalType(v);
+            };
+        }
+        return UNSUPPORTED;
+    }
+
+    /**
+     * Decodes a KNX 2 byte float (MEEEEMMM MMMMMMMM), the value is 0.01 * M * 2^E with M as 12 bit two's
+     * complement.
+     *
+     * @return the value or {@link Double#NaN} for invalid data (0x7fff)
+     */
+    static double decode2ByteFloat(byte[] data) {
+        if (data.length < 2 || (data[0] == 0x7f && data[1] == (byte) 0xff)) {
+            return Double.NaN;
+        }
+        int mantissa = ((data[0] & 0x07) << 8) | (data[1] & 0xff);
+        if ((data[0] & 0x80) != 0) {
+            mantissa -= 0x800;
+        }
+        int exponent = (data[0] & 0x78) >> 3;
+        return (mantissa << exponent) / 100.0;
+    }
+
+    private static int decode4Byte(byte[] data) {
+        return ((data[0] & 0xff) << 24) | ((data[1] & 0xff) << 16) | ((data[2] & 0xff) << 8) | (data[3] & 0xff);
+    }
+}
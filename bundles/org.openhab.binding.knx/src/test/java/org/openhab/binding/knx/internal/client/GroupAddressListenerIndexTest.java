@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+
+/**
+ * Tests the routing of telegrams by the {@link GroupAddressListenerIndex}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class GroupAddressListenerIndexTest {
+
+    private static final IndividualAddress SOURCE = new IndividualAddress(1, 1, 1);
+    private static final GroupAddress GA_1 = new GroupAddress(1, 2, 3);
+    private static final GroupAddress GA_2 = new GroupAddress(4, 5, 6);
+
+    private final AbstractKNXClient client = mock(AbstractKNXClient.class);
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final GroupAddressListenerIndex index = new GroupAddressListenerIndex(tasks::add);
+
+    private GroupAddressListener listener(GroupAddress... addresses) {
+        GroupAddressListener listener = mock(GroupAddressListener.class);
+        when(listener.getGroupAddresses()).thenReturn(Set.of(addresses));
+        return listener;
+    }
+
+    private int write(GroupAddress destination, byte value) {
+        return index.dispatch(destination,
+                listener -> listener.onGroupWrite(client, SOURCE, destination, new byte[] { value }));
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+
+    @Test
+    public void routesByDestination() {
+        GroupAddressListener first = listener(GA_1);
+        GroupAddressListener second = listener(GA_1, GA_2);
+        assertTrue(index.register(first));
+        assertTrue(index.register(second));
+        assertFalse(index.register(second));
+
+        assertEquals(2, write(GA_1, (byte) 1));
+        assertEquals(1, write(GA_2, (byte) 2));
+        assertEquals(0, write(new GroupAddress(7, 7, 7), (byte) 3));
+        runTasks();
+
+        verify(first).onGroupWrite(any(), eq(SOURCE), eq(GA_1), any());
+        verify(first, never()).onGroupWrite(any(), any(), eq(GA_2), any());
+        verify(second).onGroupWrite(any(), eq(SOURCE), eq(GA_1), any());
+        verify(second).onGroupWrite(any(), eq(SOURCE), eq(GA_2), any());
+
+        assertTrue(index.unregister(first));
+        assertFalse(index.unregister(first));
+        assertEquals(1, write(GA_1, (byte) 4));
+
+        // registering again updates the addresses
+        when(second.getGroupAddresses()).thenReturn(Set.of(GA_2));
+        assertFalse(index.register(second));
+        assertEquals(0, write(GA_1, (byte) 5));
+        assertEquals(1, write(GA_2, (byte) 6));
+    }
+
+    @Test
+    public void deliversBatchInOrder() {
+        GroupAddressListener listener = listener(GA_1, GA_2);
+        index.register(listener);
+
+        for (byte value = 0; value < 10; value++) {
+            write(value % 2 == 0 ? GA_1 : GA_2, value);
+        }
+        // one task delivers all telegrams
+        assertEquals(1, tasks.size());
+        runTasks();
+
+        InOrder inOrder = inOrder(listener);
+        for (byte value = 0; value < 10; value++) {
+            inOrder.verify(listener).onGroupWrite(any(), eq(SOURCE), eq(value % 2 == 0 ? GA_1 : GA_2),
+                    aryEq(new byte[] { value }));
+        }
+    }
+}
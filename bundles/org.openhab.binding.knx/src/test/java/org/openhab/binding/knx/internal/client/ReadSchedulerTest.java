@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Tests the ordering and pacing of the {@link ReadScheduler}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class ReadSchedulerTest {
+
+    private static final int READING_PAUSE = 50;
+    private static final int LIMIT = 3;
+
+    private static final Datapoint DP_1 = new CommandDP(new GroupAddress(1, 2, 3), "test", 0, "1.001");
+    private static final Datapoint DP_1_OTHER_DPT = new CommandDP(new GroupAddress(1, 2, 3), "test", 0, "5.001");
+    private static final Datapoint DP_2 = new CommandDP(new GroupAddress(4, 5, 6), "test", 0, "1.001");
+
+    private long now;
+    private ReadScheduler scheduler;
+
+    @BeforeEach
+    public void setup() {
+        now = 1000;
+        scheduler = new ReadScheduler(READING_PAUSE, () -> now);
+    }
+
+    @Test
+    public void testDeduplicatesByGroupAddress() {
+        assertTrue(scheduler.add(DP_1, ReadPriority.BACKGROUND, LIMIT));
+        assertFalse(scheduler.add(DP_1, ReadPriority.BACKGROUND, LIMIT));
+        assertFalse(scheduler.add(DP_1_OTHER_DPT, ReadPriority.BACKGROUND, LIMIT));
+        assertEquals(1, scheduler.getQueueDepth());
+
+        ReadDatapoint readDatapoint = scheduler.poll();
+        assertNotNull(readDatapoint);
+        // still being read
+        assertFalse(scheduler.add(DP_1, ReadPriority.BACKGROUND, LIMIT));
+
+        scheduler.completed(readDatapoint);
+        assertTrue(scheduler.add(DP_1, ReadPriority.BACKGROUND, LIMIT));
+    }
+
+    @Test
+    public void testInteractiveBeforeBackground() {
+        scheduler.add(DP_1, ReadPriority.BACKGROUND, LIMIT);
+        scheduler.add(DP_2, ReadPriority.INTERACTIVE, LIMIT);
+
+        assertEquals(DP_2, poll().getDatapoint());
+    }
+
+    @Test
+    public void testInteractivePromotesQueuedBackground() {
+        scheduler.add(DP_1, ReadPriority.BACKGROUND, LIMIT);
+        scheduler.add(DP_2, ReadPriority.BACKGROUND, LIMIT);
+        assertFalse(scheduler.add(DP_2, ReadPriority.INTERACTIVE, LIMIT));
+
+        ReadDatapoint readDatapoint = poll();
+        assertEquals(DP_2, readDatapoint.getDatapoint());
+        assertEquals(ReadPriority.INTERACTIVE, readDatapoint.getPriority());
+        assertEquals(1, scheduler.getQueueDepth());
+    }
+
+    @Test
+    public void testPausesBetweenReads() {
+        scheduler.add(DP_1, ReadPriority.BACKGROUND, LIMIT);
+        scheduler.add(DP_2, ReadPriority.BACKGROUND, LIMIT);
+        scheduler.completed(poll());
+
+        now += READING_PAUSE - 1;
+        assertNull(scheduler.poll());
+        now += 1;
+        assertEquals(DP_2, poll().getDatapoint());
+    }
+
+    @Test
+    public void testRetriesUntilLimit() {
+        scheduler.add(DP_1, ReadPriority.BACKGROUND, LIMIT);
+        for (int i = 1; i < LIMIT; i++) {
+            ReadDatapoint readDatapoint = poll();
+            readDatapoint.incrementRetries();
+            assertTrue(scheduler.failed(readDatapoint));
+            now += scheduler.getPause();
+        }
+        ReadDatapoint readDatapoint = poll();
+        readDatapoint.incrementRetries();
+        assertFalse(scheduler.failed(readDatapoint));
+        assertEquals(0, scheduler.getQueueDepth());
+        assertTrue(scheduler.add(DP_1, ReadPriority.BACKGROUND, LIMIT));
+    }
+
+    @Test
+    public void testCancelReleasesGroupAddress() {
+        scheduler.add(DP_1, ReadPriority.BACKGROUND, LIMIT);
+        ReadDatapoint readDatapoint = poll();
+        assertFalse(scheduler.add(DP_1, ReadPriority.BACKGROUND, LIMIT));
+
+        scheduler.cancel(readDatapoint);
+        assertTrue(scheduler.add(DP_1, ReadPriority.BACKGROUND, LIMIT));
+        // a late cancel does not release the new request
+        scheduler.cancel(readDatapoint);
+        assertFalse(scheduler.add(DP_1, ReadPriority.BACKGROUND, LIMIT));
+    }
+
+    @Test
+    public void testBacksOffOnBusLoadAndRecovers() {
+        for (int i = 0; i <= ReadScheduler.BUS_LOAD_LIMIT; i++) {
+            scheduler.onBusFrame();
+        }
+        now += 1000;
+        scheduler.add(DP_1, ReadPriority.BACKGROUND, LIMIT);
+        scheduler.completed(poll());
+        assertEquals(2 * READING_PAUSE, scheduler.getPause());
+
+        // quiet bus
+        now += 1000;
+        scheduler.add(DP_2, ReadPriority.BACKGROUND, LIMIT);
+        scheduler.completed(poll());
+        assertTrue(scheduler.getPause() < 2 * READING_PAUSE);
+        for (int i = 0; i < 10; i++) {
+            scheduler.add(DP_1, ReadPriority.BACKGROUND, LIMIT);
+            now += scheduler.getPause();
+            scheduler.completed(poll());
+        }
+        assertEquals(READING_PAUSE, scheduler.getPause());
+    }
+
+    @Test
+    public void testBacksOffOnNegativeConfirmation() {
+        scheduler.onConfirmation(false);
+        scheduler.add(DP_1, ReadPriority.BACKGROUND, LIMIT);
+        scheduler.completed(poll());
+        assertEquals(2 * READING_PAUSE, scheduler.getPause());
+    }
+
+    private ReadDatapoint poll() {
+        ReadDatapoint readDatapoint = scheduler.poll();
+        assertNotNull(readDatapoint);
+        return readDatapoint;
+    }
+}
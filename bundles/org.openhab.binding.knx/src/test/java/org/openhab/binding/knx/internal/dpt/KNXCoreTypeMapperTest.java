@@ -15,7 +15,16 @@ package org.openhab.binding.knx.internal.dpt;
 import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.UpDownType;
+import org.openhab.core.types.Type;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
 
 /**
  *
@@ -29,4 +38,53 @@ public class KNXCoreTypeMapperTest {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3"), "17.001"));
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
+
+    @Test
+    public void testToType_boolean() {
+        assertEquals(OnOffType.ON, toType("1.001", 0x01));
+        assertEquals(OnOffType.OFF, toType("1.001", 0x00));
+        assertEquals(UpDownType.DOWN, toType("1.008", 0x01));
+        assertEquals(new DecimalType(1), toType("1.022", 0x01));
+    }
+
+    @Test
+    public void testToType_8BitUnsigned() {
+        assertEquals(new PercentType(100), toType("5.001", 0xff));
+        assertEquals(new PercentType(50), toType("5.001", 0x80));
+        assertEquals(new DecimalType(200), toType("5.010", 0xc8));
+    }
+
+    @Test
+    public void testToType_2ByteFloat() {
+        assertEquals(new DecimalType(21), toType("9.001", 0x0c, 0x1a));
+        assertEquals(new DecimalType(-30), toType("9.001", 0x8a, 0x24));
+        assertEquals(new PercentType(21), toType("9.007", 0x0c, 0x1a));
+        assertNull(toType("9.001", 0x0c));
+    }
+
+    @Test
+    public void testToType_4Byte() {
+        assertEquals(new DecimalType(4294967295L), toType("12.001", 0xff, 0xff, 0xff, 0xff));
+        assertEquals(new DecimalType(-1), toType("13.001", 0xff, 0xff, 0xff, 0xff));
+        assertEquals(new DecimalType(20.5), toType("14.001", 0x41, 0xa4, 0x00, 0x00));
+    }
+
+    @Test
+    public void testToType_rgb() {
+        assertEquals(HSBType.fromRGB(255, 0, 0), toType("232.600", 0xff, 0x00, 0x00));
+    }
+
+    @Test
+    public void testToType_dateAndTime() {
+        assertEquals(DateTimeType.valueOf("2021-03-15T00:00:00"), toType("11.001", 0x0f, 0x03, 0x15));
+        assertEquals(DateTimeType.valueOf("1969-12-29T12:00:00"), toType("10.001", 0x2c, 0x00, 0x00));
+    }
+
+    private static Type toType(String dpt, int... data) {
+        byte[] bytes = new byte[data.length];
+        for (int i = 0; i < data.length; i++) {
+            bytes[i] = (byte) data[i];
+        }
+        return new KNXCoreTypeMapper().toType(new CommandDP(new GroupAddress(1, 2, 3), "test", 0, dpt), bytes);
+    }
 }
@@ -19,8 +19,6 @@ import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -35,6 +33,8 @@ import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.ReachabilityEngine;
+import org.openhab.binding.network.internal.utils.ReachabilityEngine.DetectionExecutor;
 import org.openhab.core.cache.ExpiringCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,6 +53,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     public static final int DESTINATION_TTL = 300 * 1000; // in ms, 300 s
 
     NetworkUtils networkUtils = new NetworkUtils();
+    final ReachabilityEngine engine;
     private final Logger logger = LoggerFactory.getLogger(PresenceDetection.class);
 
     /// Configuration variables
@@ -68,6 +69,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     private long refreshIntervalInMS = 60000;
     private int timeoutInMS = 5000;
     private long lastSeenInMS;
+    private long detectionStartInMS;
 
     private @NonNullByDefault({}) String hostname;
     private @NonNullByDefault({}) ExpiringCache<@Nullable InetAddress> destination;
@@ -79,14 +81,15 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     ExpiringCacheAsync<PresenceDetectionValue> cache;
     private final PresenceDetectionListener updateListener;
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService executorService;
+    protected @Nullable DetectionExecutor executorService;
     private String dhcpState = "off";
     Integer currentCheck = 0;
     int detectionChecks;
 
-    public PresenceDetection(final PresenceDetectionListener updateListener, int cacheDeviceStateTimeInMS)
-            throws IllegalArgumentException {
+    public PresenceDetection(final PresenceDetectionListener updateListener, ReachabilityEngine engine,
+            int cacheDeviceStateTimeInMS) throws IllegalArgumentException {
         this.updateListener = updateListener;
+        this.engine = engine;
         cache = new ExpiringCacheAsync<>(cacheDeviceStateTimeInMS, () -> {
             performPresenceDetection(false);
         });
@@ -279,14 +282,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
-    }
-
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. ICMP and ARP pings are executed on the shared pool
+     * of the {@link ReachabilityEngine}, TCP connection attempts are non-blocking and need no thread.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -327,22 +326,15 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             return false;
         }
 
-        final ExecutorService executorService = getThreadsFor(detectionChecks);
+        // The blocking checks run on the pool of the engine, which limits the number of concurrent checks
+        final DetectionExecutor executorService = engine.newDetectionExecutor();
         this.executorService = executorService;
+        detectionStartInMS = System.currentTimeMillis();
 
-        for (Integer tcpPort : tcpPorts) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
-                performServicePing(tcpPort);
-                checkIfFinished();
-            });
-        }
-
-        // ARP ping for IPv4 addresses. Use single executor for Windows tool and
-        // each own executor for each network interface for other tools
+        // ARP ping for IPv4 addresses. Use single task for Windows tool and
+        // an own task for each network interface for other tools
         if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
             executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionARP_" + hostname + " ");
                 // arp-ping.exe tool capable of handling multiple interfaces by itself
                 performARPping("");
                 checkIfFinished();
@@ -350,7 +342,6 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         } else if (interfaceNames != null) {
             for (final String interfaceName : interfaceNames) {
                 executorService.execute(() -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
                     performARPping(interfaceName);
                     checkIfFinished();
                 });
@@ -361,7 +352,6 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         if (pingMethod != null) {
             executorService.execute(() -> {
                 if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
                     performSystemPing();
                 } else {
                     performJavaPing();
@@ -370,6 +360,11 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             });
         }
 
+        // TCP connection attempts call checkIfFinished() when they are done
+        for (Integer tcpPort : tcpPorts) {
+            performServicePing(tcpPort);
+        }
+
         if (waitForDetectionToFinish) {
             waitForPresenceDetection();
         }
@@ -385,7 +380,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      */
     private synchronized void submitFinalResult() {
         // Do nothing if we are not in a detection process
-        ExecutorService service = executorService;
+        DetectionExecutor service = executorService;
         if (service == null) {
             return;
         }
@@ -398,7 +393,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
         // The cache will be expired by now if cache_time < timeoutInMS. But the device might be actually reachable.
         // Therefore use lastSeenInMS here and not cache.isExpired() to determine if we got a ping response.
-        if (lastSeenInMS + timeoutInMS + 100 < System.currentTimeMillis()) {
+        // Checks may have been queued in the shared pool for a while, so a response since the start of the detection
+        // counts as well.
+        long seenSince = Math.min(detectionStartInMS, System.currentTimeMillis() - timeoutInMS - 100);
+        if (lastSeenInMS < seenSince) {
             // We haven't seen the device in the detection process
             v = new PresenceDetectionValue(hostname, -1);
         } else {
@@ -430,16 +428,17 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
     /**
      * Waits for the presence detection threads to finish. Returns immediately
-     * if no presence detection is performed right now.
+     * if no presence detection is performed right now. The timeout starts when a
+     * check actually runs, checks waiting in the shared pool are not given up.
      */
     public void waitForPresenceDetection() {
-        ExecutorService service = executorService;
+        DetectionExecutor service = executorService;
         if (service == null) {
             return;
         }
         try {
             // We may get interrupted here by cancelRefreshJob().
-            service.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
+            service.awaitChecks(timeoutInMS + 100, TimeUnit.MILLISECONDS);
             submitFinalResult();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Reset interrupt flag
@@ -473,12 +472,25 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return v;
     }
 
+    /**
+     * Starts a non-blocking TCP connection attempt on the given port and calls
+     * {@link #checkIfFinished()} as soon as it is done.
+     *
+     * @param tcpPort The TCP port
+     */
     protected void performServicePing(int tcpPort) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
-        try {
-            InetAddress destinationAddress = destination.getValue();
-            if (destinationAddress != null) {
-                networkUtils.servicePing(destinationAddress.getHostAddress(), tcpPort, timeoutInMS).ifPresent(o -> {
+        InetAddress destinationAddress = destination.getValue();
+        if (destinationAddress == null) {
+            checkIfFinished();
+            return;
+        }
+        engine.servicePing(destinationAddress.getHostAddress(), tcpPort, timeoutInMS).whenComplete((result, e) -> {
+            if (e != null) {
+                // This should not happen and might be a user configuration issue, we log a warning message therefore.
+                logger.warn("Could not create a socket connection", e);
+            } else if (result != null) {
+                result.ifPresent(o -> {
                     if (o.isSuccess()) {
                         PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION,
                                 getLatency(o, preferResponseTimeAsLatency));
@@ -487,10 +499,8 @@ public class PresenceDetection implements IPRequestReceivedCallback {
                     }
                 });
             }
-        } catch (IOException e) {
-            // This should not happen and might be a user configuration issue, we log a warning message therefore.
-            logger.warn("Could not create a socket connection", e);
-        }
+            checkIfFinished();
+        });
     }
 
     /**
@@ -513,8 +523,11 @@ public class PresenceDetection implements IPRequestReceivedCallback {
                 Thread.sleep(50);
             }
 
-            networkUtils.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName,
-                    destinationAddress.getHostAddress(), timeoutInMS).ifPresent(o -> {
+            String hostAddress = destinationAddress.getHostAddress();
+            engine.runShared("arp " + arpPingMethod + " " + interfaceName + " " + hostAddress + " " + timeoutInMS,
+                    () -> networkUtils.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName, hostAddress,
+                            timeoutInMS))
+                    .ifPresent(o -> {
                         if (o.isSuccess()) {
                             PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ARP_PING,
                                     getLatency(o, preferResponseTimeAsLatency));
@@ -542,13 +555,20 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             return;
         }
 
-        networkUtils.javaPing(timeoutInMS, destinationAddress).ifPresent(o -> {
-            if (o.isSuccess()) {
-                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
-                        getLatency(o, preferResponseTimeAsLatency));
-                updateListener.partialDetectionResult(v);
-            }
-        });
+        try {
+            engine.runShared("java " + destinationAddress.getHostAddress() + " " + timeoutInMS,
+                    () -> networkUtils.javaPing(timeoutInMS, destinationAddress)).ifPresent(o -> {
+                        if (o.isSuccess()) {
+                            PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
+                                    getLatency(o, preferResponseTimeAsLatency));
+                            updateListener.partialDetectionResult(v);
+                        }
+                    });
+        } catch (IOException e) {
+            logger.trace("Failed to execute a java ping for ip {}", hostname, e);
+        } catch (InterruptedException e) {
+            // This can be ignored, the thread will end anyway
+        }
     }
 
     protected void performSystemPing() {
@@ -559,13 +579,16 @@ public class PresenceDetection implements IPRequestReceivedCallback {
                 return;
             }
 
-            networkUtils.nativePing(pingMethod, destinationAddress.getHostAddress(), timeoutInMS).ifPresent(o -> {
-                if (o.isSuccess()) {
-                    PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
-                            getLatency(o, preferResponseTimeAsLatency));
-                    updateListener.partialDetectionResult(v);
-                }
-            });
+            IpPingMethodEnum method = pingMethod;
+            String hostAddress = destinationAddress.getHostAddress();
+            engine.runShared("icmp " + method + " " + hostAddress + " " + timeoutInMS,
+                    () -> networkUtils.nativePing(method, hostAddress, timeoutInMS)).ifPresent(o -> {
+                        if (o.isSuccess()) {
+                            PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
+                                    getLatency(o, preferResponseTimeAsLatency));
+                            updateListener.partialDetectionResult(v);
+                        }
+                    });
         } catch (IOException e) {
             logger.trace("Failed to execute a native ping for ip {}", hostname, e);
         } catch (InterruptedException e) {
@@ -14,13 +14,15 @@ package org.openhab.binding.network.internal.discovery;
 
 import static org.openhab.binding.network.internal.NetworkBindingConstants.*;
 
+import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -33,6 +35,8 @@ import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
+import org.openhab.binding.network.internal.utils.ReachabilityEngine;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.config.discovery.AbstractDiscoveryService;
 import org.openhab.core.config.discovery.DiscoveryResultBuilder;
@@ -50,6 +54,10 @@ import org.slf4j.LoggerFactory;
  * the current Network. It uses every Network Interface which is connected to a network.
  * It tries common TCP ports to connect to, ICMP pings and ARP pings.
  *
+ * The presence detections of all IPs run concurrently, but are started at a rate which keeps the number of probe
+ * packets per second within the configured budget. Hosts in the ARP cache of the system are reported right away
+ * and only probed for TCP services. Results are added to the inbox as soon as a device answers.
+ *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
  */
@@ -58,6 +66,11 @@ import org.slf4j.LoggerFactory;
 public class NetworkDiscoveryService extends AbstractDiscoveryService implements PresenceDetectionListener {
     static final int PING_TIMEOUT_IN_MS = 500;
     static final int MAXIMUM_IPS_PER_INTERFACE = 255;
+    static final String PARAMETER_PACKETS_PER_SECOND = "packetsPerSecond";
+    static final int DEFAULT_PACKETS_PER_SECOND = 200;
+    private static final int SCAN_STEP_IN_MS = 100;
+    // pings of a scan wait for each other, but never for the presence checks of things or the other way round
+    static final int MAX_CONCURRENT_CHECKS = 16;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
     private final Logger logger = LoggerFactory.getLogger(NetworkDiscoveryService.class);
 
@@ -66,15 +79,27 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     // TCP port 1025 (Xbox / MS-RPC)
     private Set<Integer> tcpServicePorts = Collections
             .unmodifiableSet(Stream.of(80, 548, 554, 1025).collect(Collectors.toSet()));
-    private AtomicInteger scannedIPcount = new AtomicInteger(0);
-    private @Nullable ExecutorService executorService = null;
+    private volatile AtomicInteger scannedIPcount = new AtomicInteger(0);
+    private final Queue<String> pendingIPs = new ConcurrentLinkedQueue<>();
+    private Set<String> arpCachedIPs = Collections.emptySet();
+    private int scanTotal;
+    private @Nullable ScheduledFuture<?> scanJob;
+    private int packetsPerSecond = DEFAULT_PACKETS_PER_SECOND;
+    private int packetsPerIP;
+    // packets which may be sent but have not been used yet, only accessed by the scan job
+    private double packetBudget;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
-    private final NetworkUtils networkUtils = new NetworkUtils();
+    private final NetworkUtils networkUtils;
+    private final ReachabilityEngine engine = new ReachabilityEngine("network-discovery", MAX_CONCURRENT_CHECKS);
 
     public NetworkDiscoveryService() {
+        this(new NetworkUtils());
+    }
+
+    NetworkDiscoveryService(NetworkUtils networkUtils) {
         super(SUPPORTED_THING_TYPES_UIDS, (int) Math.round(
-                new NetworkUtils().getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE).size() * (PING_TIMEOUT_IN_MS / 1000.0)),
-                false);
+                networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE).size() * (PING_TIMEOUT_IN_MS / 1000.0)), false);
+        this.networkUtils = networkUtils;
     }
 
     @Override
@@ -92,15 +117,24 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         // configuration, the values are automatically available in all handlers. Because they all
         // share the same instance.
         configuration.update(new Configuration(config).as(NetworkBindingConfiguration.class));
+
+        Object value = config != null ? config.get(PARAMETER_PACKETS_PER_SECOND) : null;
+        try {
+            packetsPerSecond = value != null ? Math.max(1, new BigDecimal(value.toString()).intValue())
+                    : DEFAULT_PACKETS_PER_SECOND;
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value '{}' for {}, using {}", value, PARAMETER_PACKETS_PER_SECOND,
+                    DEFAULT_PACKETS_PER_SECOND);
+            packetsPerSecond = DEFAULT_PACKETS_PER_SECOND;
+        }
     }
 
     @Override
     @Deactivate
     protected void deactivate() {
-        if (executorService != null) {
-            executorService.shutdown();
-        }
+        cancelScanJob();
         super.deactivate();
+        engine.shutdown();
     }
 
     @Override
@@ -121,62 +155,137 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Starts the DiscoveryThread for each IP on each interface on the network
+     * Starts the presence detection for each IP on each interface on the network
      */
     @Override
-    protected void startScan() {
-        if (executorService == null) {
-            executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
-        }
-        final ExecutorService service = executorService;
-        if (service == null) {
-            return;
-        }
+    protected synchronized void startScan() {
+        cancelScanJob();
         removeOlderResults(getTimestampOfLastScan(), null);
         logger.trace("Starting Network Device Discovery");
 
+        if (!prepareScan()) {
+            stopScan();
+            return;
+        }
+        scanJob = scheduler.scheduleWithFixedDelay(this::startPendingDetections, 0, SCAN_STEP_IN_MS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues the IPs of all interfaces and reports the hosts of the ARP cache.
+     *
+     * @return false if there is nothing to probe
+     */
+    synchronized boolean prepareScan() {
         final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
-        scannedIPcount.set(0);
+        scannedIPcount = new AtomicInteger(0);
+        scanTotal = networkIPs.size();
 
+        // Hosts in the ARP cache have been seen recently, there is no need to ping them
+        arpCachedIPs = networkUtils.getArpCacheAddresses();
         for (String ip : networkIPs) {
-            final PresenceDetection s = new PresenceDetection(this, 2000);
-            s.setHostname(ip);
+            if (arpCachedIPs.contains(ip)) {
+                newPingDevice(ip);
+            }
+            pendingIPs.add(ip);
+        }
+        logger.trace("Probing {} IPs, {} IPs are known from the ARP cache", pendingIPs.size(), arpCachedIPs.size());
+
+        // ICMP ping, one ARP ping per interface and a connection attempt per TCP port
+        packetsPerIP = 1 + tcpServicePorts.size();
+        if (configuration.arpPingUtilMethod != ArpPingUtilEnum.UNKNOWN_TOOL) {
+            packetsPerIP += networkUtils.getInterfaceNames().size();
+        }
+        packetBudget = 0;
+        return !pendingIPs.isEmpty();
+    }
+
+    /**
+     * Starts as many presence detections as the packet budget of one scan step allows.
+     */
+    void startPendingDetections() {
+        final AtomicInteger scannedIPcount = this.scannedIPcount;
+        final int total = scanTotal;
+        packetBudget += packetsPerSecond * SCAN_STEP_IN_MS / 1000.0;
+        while (true) {
+            String ip = pendingIPs.peek();
+            if (ip == null) {
+                // all detections are started, the last one to finish stops the scan
+                cancelScanJob();
+                return;
+            }
+            boolean arpCached = arpCachedIPs.contains(ip);
+            int packets = arpCached ? tcpServicePorts.size() : packetsPerIP;
+            if (packetBudget < packets) {
+                return;
+            }
+            pendingIPs.poll();
+            packetBudget -= packets;
+
+            boolean started = startPresenceDetection(ip, arpCached, new PresenceDetectionListener() {
+                @Override
+                public void partialDetectionResult(PresenceDetectionValue value) {
+                    NetworkDiscoveryService.this.partialDetectionResult(value);
+                }
+
+                @Override
+                public void finalDetectionResult(PresenceDetectionValue value) {
+                    ipScanned(scannedIPcount, total);
+                }
+            });
+            if (!started) {
+                ipScanned(scannedIPcount, total);
+            }
+        }
+    }
+
+    /**
+     * Starts the presence detection of a single IP. Hosts known from the ARP cache are only probed for TCP services.
+     *
+     * @return true if a detection was started
+     */
+    boolean startPresenceDetection(String ip, boolean arpCached, PresenceDetectionListener listener) {
+        final PresenceDetection s = new PresenceDetection(listener, engine, 2000);
+        s.setHostname(ip);
+        s.setUseDhcpSniffing(false);
+        s.setTimeout(PING_TIMEOUT_IN_MS);
+        if (arpCached) {
+            s.setIOSDevice(false);
+            s.setUseIcmpPing(null);
+            s.setUseArpPing(false, configuration.arpPingToolPath, ArpPingUtilEnum.UNKNOWN_TOOL);
+        } else {
             s.setIOSDevice(true);
-            s.setUseDhcpSniffing(false);
-            s.setTimeout(PING_TIMEOUT_IN_MS);
             // Ping devices
             s.setUseIcmpPing(true);
             s.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
-            // TCP devices
-            s.setServicePorts(tcpServicePorts);
-
-            service.execute(() -> {
-                Thread.currentThread().setName("Discovery thread " + ip);
-                s.performPresenceDetection(true);
-                int count = scannedIPcount.incrementAndGet();
-                if (count == networkIPs.size()) {
-                    logger.trace("Scan of {} IPs successful", scannedIPcount);
-                    stopScan();
-                }
-            });
+        }
+        // TCP devices
+        s.setServicePorts(tcpServicePorts);
+        return s.performPresenceDetection(false);
+    }
+
+    private void ipScanned(AtomicInteger scannedIPcount, int total) {
+        int count = scannedIPcount.incrementAndGet();
+        // ignore detections of an earlier scan
+        if (count == total && scannedIPcount == this.scannedIPcount) {
+            logger.trace("Scan of {} IPs successful", count);
+            stopScan();
         }
     }
 
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
-        final ExecutorService service = executorService;
-        if (service == null) {
-            return;
-        }
+        cancelScanJob();
+    }
 
-        try {
-            service.awaitTermination(PING_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Reset interrupt flag
+    private synchronized void cancelScanJob() {
+        ScheduledFuture<?> job = scanJob;
+        if (job != null) {
+            job.cancel(false);
+            scanJob = null;
         }
-        service.shutdown();
-        executorService = null;
+        pendingIPs.clear();
     }
 
     public static ThingUID createServiceUID(String ip, int tcpPort) {
@@ -185,7 +294,8 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link startScan}.
+     * Submit newly discovered devices. This method is called as soon as a presence detection started by
+     * {@link #startScan()} gets an answer.
      *
      * @param ip The device IP
      * @param tcpPort The TCP port
@@ -228,7 +338,8 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link startScan}.
+     * Submit newly discovered devices. This method is called as soon as a presence detection started by
+     * {@link #startScan()} gets an answer, or for devices found in the ARP cache.
      *
      * @param ip The device IP
      */
@@ -15,23 +15,23 @@ package org.openhab.binding.network.internal.utils;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.net.ConnectException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.Inet4Address;
 import java.net.InetAddress;
-import java.net.InetSocketAddress;
 import java.net.NetworkInterface;
-import java.net.NoRouteToHostException;
 import java.net.PortUnreachableException;
-import java.net.Socket;
-import java.net.SocketAddress;
 import java.net.SocketException;
-import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -54,6 +54,10 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class NetworkUtils {
+    private static final String ARP_CACHE_FILE = "/proc/net/arp";
+    // flag of a complete entry in the ARP cache, see linux/if_arp.h
+    private static final int ATF_COM = 0x02;
+
     private final Logger logger = LoggerFactory.getLogger(NetworkUtils.class);
 
     private LatencyParser latencyParser = new LatencyParser();
@@ -148,25 +152,50 @@ public class NetworkUtils {
     }
 
     /**
-     * Try to establish a tcp connection to the given port. Returns false if a timeout occurred
-     * or the connection was denied.
-     *
-     * @param host The IP or hostname
-     * @param port The tcp port. Must be not 0.
-     * @param timeout Timeout in ms
-     * @return Ping result information. Optional is empty if ping command was not executed.
-     * @throws IOException
+     * Returns the IPv4 addresses for which the ARP cache of the system holds a complete entry, i.e. hosts which
+     * have been seen on the network recently. The ARP cache is only read on Linux, on other systems the returned
+     * set is empty.
      */
-    public Optional<PingResult> servicePing(String host, int port, int timeout) throws IOException {
-        double execStartTimeInMS = System.currentTimeMillis();
+    public Set<String> getArpCacheAddresses() {
+        Path arpCache = Paths.get(ARP_CACHE_FILE);
+        if (!Files.isReadable(arpCache)) {
+            return Collections.emptySet();
+        }
+        try {
+            return parseArpCache(Files.readAllLines(arpCache, StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            logger.debug("Could not read the ARP cache: {}", e.getMessage());
+            return Collections.emptySet();
+        }
+    }
 
-        SocketAddress socketAddress = new InetSocketAddress(host, port);
-        try (Socket socket = new Socket()) {
-            socket.connect(socketAddress, timeout);
-            return Optional.of(new PingResult(true, System.currentTimeMillis() - execStartTimeInMS));
-        } catch (ConnectException | SocketTimeoutException | NoRouteToHostException ignored) {
-            return Optional.of(new PingResult(false, System.currentTimeMillis() - execStartTimeInMS));
+    /**
+     * Parses the lines of /proc/net/arp, which look like
+     *
+     * <pre>
+     * IP address       HW type     Flags       HW address            Mask     Device
+     * 192.168.0.1      0x1         0x2         00:11:22:33:44:55     *        eth0
+     * </pre>
+     *
+     * @param lines the lines including the header line
+     * @return the IP addresses of all complete entries
+     */
+    Set<String> parseArpCache(List<String> lines) {
+        Set<String> addresses = new HashSet<>();
+        for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+            String[] fields = line.trim().split("\\s+");
+            if (fields.length < 4) {
+                continue;
+            }
+            try {
+                if ((Integer.decode(fields[2]) & ATF_COM) != 0 && !"00:00:00:00:00:00".equals(fields[3])) {
+                    addresses.add(fields[0]);
+                }
+            } catch (NumberFormatException e) {
+                logger.trace("Ignoring malformed ARP cache line '{}'", line);
+            }
         }
+        return addresses;
     }
 
     /**
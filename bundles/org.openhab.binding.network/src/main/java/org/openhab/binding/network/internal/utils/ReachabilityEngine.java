@@ -0,0 +1,501 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.NoRouteToHostException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.UnresolvedAddressException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Binding wide engine for the reachability checks of all presence detections.
+ *
+ * Blocking checks (system ping, ARP ping, Java ping) run on one shared pool, which limits the number of concurrently
+ * running checks and child processes for all things together. TCP port checks do not need a thread at all, they are
+ * non-blocking connects waiting on a single selector.
+ *
+ * Identical checks for the same host are shared: if a check is requested while the same check is running or has
+ * finished less than {@link #RESULT_SHARE_TIME_MS} ago, its result is used instead of starting another one. Things
+ * which point to the same host therefore cause only one ping per refresh.
+ *
+ * The engine is owned by the component which creates it and has to be {@link #shutdown()} by it.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class ReachabilityEngine {
+
+    public static final int DEFAULT_MAX_CONCURRENT_CHECKS = 64;
+    static final long RESULT_SHARE_TIME_MS = 1000;
+    private static final long SELECTOR_IDLE_TIME_MS = 10000;
+    private static final long SELECTOR_RETRY_DELAY_MS = 1000;
+
+    /**
+     * A blocking check, for example a call to {@link NetworkUtils#nativePing}.
+     */
+    @FunctionalInterface
+    public interface Check {
+        Optional<PingResult> call() throws IOException, InterruptedException;
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ReachabilityEngine.class);
+
+    private final ThreadPoolExecutor pool;
+    private final NamedThreadFactory selectorThreadFactory;
+    private final Map<String, SharedResult> sharedResults = new ConcurrentHashMap<>();
+
+    private final Object selectorLock = new Object();
+    private final Queue<PendingConnect> newConnects = new ConcurrentLinkedQueue<>();
+    private @Nullable Selector selector;
+    private boolean shutdown;
+
+    public ReachabilityEngine(int maxConcurrentChecks) {
+        this("network-presence", maxConcurrentChecks);
+    }
+
+    /**
+     * @param name the name of the threads of this engine
+     * @param maxConcurrentChecks the number of blocking checks which may run at the same time
+     */
+    public ReachabilityEngine(String name, int maxConcurrentChecks) {
+        int threads = Math.max(1, maxConcurrentChecks);
+        pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new NamedThreadFactory(name, true));
+        pool.allowCoreThreadTimeOut(true);
+        selectorThreadFactory = new NamedThreadFactory(name + "-connect", true);
+    }
+
+    /**
+     * Stops all running checks and the thread waiting for TCP connections. Pending TCP connection attempts complete
+     * exceptionally, further checks are rejected.
+     */
+    public void shutdown() {
+        pool.shutdownNow();
+        synchronized (selectorLock) {
+            shutdown = true;
+            Selector selector = this.selector;
+            if (selector != null) {
+                selector.wakeup();
+            }
+        }
+    }
+
+    /**
+     * Changes the number of blocking checks which may run at the same time. Further checks are queued.
+     */
+    public synchronized void setMaxConcurrentChecks(int maxConcurrentChecks) {
+        int threads = Math.max(1, maxConcurrentChecks);
+        if (threads == pool.getMaximumPoolSize()) {
+            return;
+        }
+        // the core size must never be larger than the maximum size
+        if (threads > pool.getMaximumPoolSize()) {
+            pool.setMaximumPoolSize(threads);
+            pool.setCorePoolSize(threads);
+        } else {
+            pool.setCorePoolSize(threads);
+            pool.setMaximumPoolSize(threads);
+        }
+        logger.debug("Running at most {} presence checks at the same time", threads);
+    }
+
+    /**
+     * Returns an executor for the blocking checks of one presence detection. It runs its tasks on the shared pool,
+     * but can be shut down and awaited on its own.
+     */
+    public DetectionExecutor newDetectionExecutor() {
+        return new DetectionExecutor(pool);
+    }
+
+    /**
+     * Runs a blocking check in the calling thread, unless the same check is already running or has just finished. In
+     * that case the result of that check is returned.
+     *
+     * @param key identifies the check, for example tool, interface, host address and timeout
+     * @param check performs the check
+     * @return the result of the check
+     * @throws IOException if the check failed
+     * @throws InterruptedException if the calling thread was interrupted
+     */
+    public Optional<PingResult> runShared(String key, Check check) throws IOException, InterruptedException {
+        SharedResult result = new SharedResult();
+        SharedResult existing = claim(key, result);
+        if (existing != result) {
+            logger.trace("Using the result of the running check '{}'", key);
+            try {
+                return existing.future.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                return Optional.empty();
+            }
+        }
+
+        try {
+            Optional<PingResult> pingResult = check.call();
+            result.complete(pingResult);
+            return pingResult;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            sharedResults.remove(key, result);
+            result.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Tries to establish a TCP connection to the given host and port, without blocking a thread while waiting.
+     *
+     * @param host the host address
+     * @param port the TCP port
+     * @param timeoutInMS the time to wait for the connection to be established
+     * @return completes with a successful result if the connection was established and an unsuccessful result if it
+     *         was refused, could not be routed or timed out. Completes exceptionally on other I/O errors.
+     */
+    public CompletableFuture<Optional<PingResult>> servicePing(String host, int port, int timeoutInMS) {
+        // a result is only shared with checks which would have waited as long
+        String key = "tcp " + host + ":" + port + " " + timeoutInMS;
+        SharedResult result = new SharedResult();
+        SharedResult existing = claim(key, result);
+        if (existing != result) {
+            logger.trace("Using the result of the running check '{}'", key);
+            return existing.future;
+        }
+
+        result.future.whenComplete((pingResult, e) -> {
+            if (e != null) {
+                sharedResults.remove(key, result);
+            }
+        });
+        connect(host, port, timeoutInMS, result);
+        return result.future;
+    }
+
+    private SharedResult claim(String key, SharedResult result) {
+        long now = System.currentTimeMillis();
+        SharedResult claimed = sharedResults.compute(key,
+                (k, existing) -> existing != null && existing.isShareable(now) ? existing : result);
+        if (claimed == result) {
+            // forget results which are too old to be shared
+            sharedResults.values().removeIf(r -> !r.isShareable(now));
+        }
+        return claimed;
+    }
+
+    private void connect(String host, int port, int timeoutInMS, SharedResult result) {
+        long start = System.currentTimeMillis();
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            PendingConnect connect = new PendingConnect(channel, result, start, start + timeoutInMS);
+            if (channel.connect(new InetSocketAddress(host, port))) {
+                connect.finish(true);
+                return;
+            }
+            synchronized (selectorLock) {
+                if (shutdown) {
+                    throw new IOException("The reachability engine has been shut down");
+                }
+                newConnects.add(connect);
+                Selector selector = this.selector;
+                if (selector != null) {
+                    selector.wakeup();
+                } else {
+                    Selector newSelector = Selector.open();
+                    this.selector = newSelector;
+                    selectorThreadFactory.newThread(() -> runSelector(newSelector)).start();
+                }
+            }
+        } catch (ConnectException | NoRouteToHostException | UnresolvedAddressException e) {
+            closeQuietly(channel);
+            result.complete(Optional.of(new PingResult(false, System.currentTimeMillis() - start)));
+        } catch (IOException e) {
+            closeQuietly(channel);
+            result.future.completeExceptionally(e);
+        }
+    }
+
+    private void runSelector(Selector selector) {
+        List<PendingConnect> pending = new ArrayList<>();
+        long idleSince = System.currentTimeMillis();
+        while (true) {
+            PendingConnect connect;
+            synchronized (selectorLock) {
+                if (shutdown) {
+                    this.selector = null;
+                    closeQuietly(selector);
+                    IOException e = new IOException("The reachability engine has been shut down");
+                    pending.forEach(p -> p.fail(e));
+                    while ((connect = newConnects.poll()) != null) {
+                        connect.fail(e);
+                    }
+                    return;
+                }
+            }
+            while ((connect = newConnects.poll()) != null) {
+                try {
+                    connect.channel.register(selector, SelectionKey.OP_CONNECT, connect);
+                    pending.add(connect);
+                } catch (IOException e) {
+                    connect.fail(e);
+                }
+            }
+
+            long now = System.currentTimeMillis();
+            long timeout = SELECTOR_IDLE_TIME_MS;
+            for (Iterator<PendingConnect> it = pending.iterator(); it.hasNext();) {
+                connect = it.next();
+                if (connect.deadline <= now) {
+                    it.remove();
+                    connect.finish(false);
+                } else {
+                    timeout = Math.min(timeout, connect.deadline - now);
+                }
+            }
+
+            if (pending.isEmpty()) {
+                synchronized (selectorLock) {
+                    if (newConnects.isEmpty() && now - idleSince >= SELECTOR_IDLE_TIME_MS) {
+                        this.selector = null;
+                        closeQuietly(selector);
+                        return;
+                    }
+                }
+            } else {
+                idleSince = now;
+            }
+
+            try {
+                selector.select(Math.max(1, timeout));
+            } catch (IOException e) {
+                logger.debug("Waiting for TCP connections failed: {}", e.getMessage());
+                // do not spin if the selector keeps failing, the deadlines are checked again afterwards
+                try {
+                    Thread.sleep(Math.min(timeout, SELECTOR_RETRY_DELAY_MS));
+                } catch (InterruptedException ie) {
+                    shutdown();
+                }
+                continue;
+            }
+
+            for (Iterator<SelectionKey> it = selector.selectedKeys().iterator(); it.hasNext();) {
+                SelectionKey key = it.next();
+                it.remove();
+                connect = (PendingConnect) key.attachment();
+                pending.remove(connect);
+                boolean connected;
+                try {
+                    connected = connect.channel.finishConnect();
+                } catch (IOException e) {
+                    // refused, unreachable and the like: the host is not available on this port
+                    connected = false;
+                }
+                connect.finish(connected);
+            }
+        }
+    }
+
+    private static void closeQuietly(@Nullable AutoCloseable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (Exception ignored) {
+                // nothing we could do about it
+            }
+        }
+    }
+
+    /**
+     * The result of a check, which other callers can use while the check is running and shortly after.
+     */
+    private static class SharedResult {
+        private final CompletableFuture<Optional<PingResult>> future = new CompletableFuture<>();
+        private volatile long finishedAt;
+
+        private void complete(Optional<PingResult> pingResult) {
+            finishedAt = System.currentTimeMillis();
+            future.complete(pingResult);
+        }
+
+        private boolean isShareable(long now) {
+            return !future.isDone() || (finishedAt > 0 && now - finishedAt < RESULT_SHARE_TIME_MS);
+        }
+    }
+
+    /**
+     * A TCP connection attempt waiting on the selector.
+     */
+    private static class PendingConnect {
+        private final SocketChannel channel;
+        private final SharedResult result;
+        private final long start;
+        private final long deadline;
+
+        private PendingConnect(SocketChannel channel, SharedResult result, long start, long deadline) {
+            this.channel = channel;
+            this.result = result;
+            this.start = start;
+            this.deadline = deadline;
+        }
+
+        private void finish(boolean connected) {
+            // closing the channel also cancels its selection key
+            closeQuietly(channel);
+            result.complete(Optional.of(new PingResult(connected, System.currentTimeMillis() - start)));
+        }
+
+        private void fail(IOException e) {
+            closeQuietly(channel);
+            result.future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Executes the tasks of one presence detection on the shared pool. Shutting it down cancels only its own tasks.
+     */
+    public static class DetectionExecutor extends AbstractExecutorService {
+        private final ExecutorService pool;
+        // guarded by this
+        private final Map<Object, Future<?>> tasks = new HashMap<>();
+        private final Set<Object> queued = new HashSet<>();
+        private long lastStart = System.nanoTime();
+        private boolean shutdown;
+
+        private DetectionExecutor(ExecutorService pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public synchronized void execute(Runnable command) {
+            if (shutdown) {
+                throw new RejectedExecutionException("Presence detection already finished");
+            }
+            Object token = new Object();
+            queued.add(token);
+            tasks.put(token, pool.submit(() -> {
+                started(token);
+                try {
+                    command.run();
+                } finally {
+                    finished(token);
+                }
+            }));
+        }
+
+        private synchronized void started(Object token) {
+            if (queued.remove(token)) {
+                lastStart = System.nanoTime();
+                notifyAll();
+            }
+        }
+
+        private synchronized void finished(Object token) {
+            tasks.remove(token);
+            notifyAll();
+        }
+
+        /**
+         * Waits until this executor has terminated, but at most the given time after the last of its tasks has
+         * started. Tasks still queued in the shared pool have not used any of their time yet, they are waited for.
+         *
+         * @return true if this executor has terminated, false if the time elapsed or the shared pool was shut down
+         * @throws InterruptedException if the calling thread was interrupted
+         */
+        public synchronized boolean awaitChecks(long timeout, TimeUnit unit) throws InterruptedException {
+            long timeoutNanos = unit.toNanos(timeout);
+            while (!isTerminated()) {
+                if (pool.isShutdown()) {
+                    return false;
+                }
+                long remaining = queued.isEmpty() ? lastStart + timeoutNanos - System.nanoTime() : timeoutNanos;
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            return true;
+        }
+
+        @Override
+        public synchronized void shutdown() {
+            shutdown = true;
+            notifyAll();
+        }
+
+        @Override
+        public synchronized List<Runnable> shutdownNow() {
+            shutdown = true;
+            tasks.values().forEach(task -> task.cancel(true));
+            tasks.clear();
+            queued.clear();
+            notifyAll();
+            return Collections.emptyList();
+        }
+
+        @Override
+        public synchronized boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public synchronized boolean isTerminated() {
+            return shutdown && tasks.isEmpty();
+        }
+
+        @Override
+        public synchronized boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (!isTerminated()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            return true;
+        }
+    }
+}
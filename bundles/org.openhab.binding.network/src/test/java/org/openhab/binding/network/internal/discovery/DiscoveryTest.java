@@ -17,7 +17,13 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,7 +34,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.openhab.binding.network.internal.NetworkBindingConstants;
+import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.core.config.discovery.DiscoveryListener;
 import org.openhab.core.config.discovery.DiscoveryResult;
 
@@ -44,6 +52,7 @@ public class DiscoveryTest {
 
     private @Mock PresenceDetectionValue value;
     private @Mock DiscoveryListener listener;
+    private @Mock NetworkUtils networkUtils;
 
     @BeforeEach
     public void setUp() {
@@ -88,4 +97,82 @@ public class DiscoveryTest {
         assertThat(dresult.getProperties().get(NetworkBindingConstants.PARAMETER_HOSTNAME), is(ip));
         assertThat(dresult.getProperties().get(NetworkBindingConstants.PARAMETER_PORT), is(1010));
     }
+
+    /**
+     * Records the started detections instead of probing the network.
+     */
+    private class ScanRecorder extends NetworkDiscoveryService {
+        final List<String> started = new ArrayList<>();
+        final List<String> tcpOnly = new ArrayList<>();
+
+        ScanRecorder() {
+            super(networkUtils);
+        }
+
+        @Override
+        boolean startPresenceDetection(String ip, boolean arpCached, PresenceDetectionListener listener) {
+            started.add(ip);
+            if (arpCached) {
+                tcpOnly.add(ip);
+            }
+            return true;
+        }
+    }
+
+    private ScanRecorder prepareScan(int ipCount, Set<String> arpCache) {
+        Set<String> ips = IntStream.rangeClosed(1, ipCount).mapToObj(i -> "192.168.1." + i)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        when(networkUtils.getNetworkIPs(anyInt())).thenReturn(ips);
+        when(networkUtils.getArpCacheAddresses()).thenReturn(arpCache);
+        when(networkUtils.getInterfaceNames()).thenReturn(Collections.emptySet());
+
+        ScanRecorder d = new ScanRecorder();
+        d.addDiscoveryListener(listener);
+        assertThat(d.prepareScan(), is(true));
+        return d;
+    }
+
+    @Test
+    public void arpCachedHostsAreProbedForServices() {
+        ScanRecorder d = prepareScan(4, Set.of("192.168.1.2", "192.168.1.3"));
+
+        // ARP cached hosts are reported as ping devices right away
+        verify(listener, times(2)).thingDiscovered(any(), any());
+
+        // ARP cached hosts still get the TCP service probes, but no pings
+        d.startPendingDetections();
+        assertThat(d.started, is(List.of("192.168.1.1", "192.168.1.2", "192.168.1.3", "192.168.1.4")));
+        assertThat(d.tcpOnly, is(List.of("192.168.1.2", "192.168.1.3")));
+    }
+
+    @Test
+    public void detectionsArePacedByPacketBudget() {
+        ScanRecorder d = prepareScan(12, Set.of("192.168.1.1", "192.168.1.2"));
+
+        // 200 packets per second allow 20 packets per 100 ms step. A probed IP costs one ICMP ping and four TCP
+        // connection attempts, an ARP cached IP only the four connection attempts.
+        d.startPendingDetections();
+        assertThat(d.started.size(), is(4));
+        d.startPendingDetections();
+        assertThat(d.started.size(), is(8));
+        d.startPendingDetections();
+        assertThat(d.started.size(), is(12));
+        d.startPendingDetections();
+        assertThat(d.started.size(), is(12));
+    }
+
+    @Test
+    public void unusedBudgetIsCarriedToTheNextStep() {
+        ScanRecorder d = prepareScan(40, Collections.emptySet());
+
+        int steps = 0;
+        while (d.started.size() < 40) {
+            d.startPendingDetections();
+            steps++;
+            // never more packets than the budget of all steps so far
+            assertThat(d.started.size() * 5 <= steps * 20, is(true));
+        }
+        // 200 packets of 5 each, budget of 20 packets per step
+        assertThat(steps, is(10));
+    }
 }
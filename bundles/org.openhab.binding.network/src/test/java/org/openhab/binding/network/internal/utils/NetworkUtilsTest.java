@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the parts of {@link NetworkUtils} which do not need a network.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class NetworkUtilsTest {
+
+    @Test
+    public void parseArpCache() {
+        NetworkUtils networkUtils = new NetworkUtils();
+        Set<String> addresses = networkUtils.parseArpCache(Arrays.asList(
+                "IP address       HW type     Flags       HW address            Mask     Device",
+                "192.168.0.1      0x1         0x2         00:11:22:33:44:55     *        eth0",
+                "192.168.0.7      0x1         0x0         00:00:00:00:00:00     *        eth0",
+                "192.168.2.20     0x1         0x6         66:77:88:99:aa:bb     *        eth1", ""));
+
+        assertThat(addresses, is(Set.of("192.168.0.1", "192.168.2.20")));
+        assertThat(networkUtils.parseArpCache(Collections.emptyList()), is(Collections.emptySet()));
+    }
+}
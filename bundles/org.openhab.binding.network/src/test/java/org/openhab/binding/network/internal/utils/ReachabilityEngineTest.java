@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.network.internal.utils.ReachabilityEngine.DetectionExecutor;
+
+/**
+ * Tests the {@link ReachabilityEngine}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class ReachabilityEngineTest {
+
+    private final ReachabilityEngine engine = new ReachabilityEngine(4);
+
+    @AfterEach
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    public void identicalChecksAreShared() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ReachabilityEngine.Check check = () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            release.await();
+            return Optional.of(new PingResult(true, 10));
+        };
+
+        CompletableFuture<Optional<PingResult>> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return engine.runShared("icmp 192.168.0.1", check);
+            } catch (IOException | InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Optional<PingResult>> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return engine.runShared("icmp 192.168.0.1", check);
+            } catch (IOException | InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        release.countDown();
+
+        assertTrue(first.get(5, TimeUnit.SECONDS).get().isSuccess());
+        assertTrue(second.get(5, TimeUnit.SECONDS).get().isSuccess());
+        // the just finished result is used as well
+        assertTrue(engine.runShared("icmp 192.168.0.1", check).get().isSuccess());
+        assertEquals(1, calls.get());
+
+        // another host needs its own check
+        engine.runShared("icmp 192.168.0.2", check);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void servicePing() throws Exception {
+        int closedPort;
+        try (ServerSocket server = new ServerSocket(0)) {
+            Optional<PingResult> result = engine.servicePing("127.0.0.1", server.getLocalPort(), 1000).get(5,
+                    TimeUnit.SECONDS);
+            assertTrue(result.get().isSuccess());
+            closedPort = server.getLocalPort();
+        }
+
+        Thread.sleep(ReachabilityEngine.RESULT_SHARE_TIME_MS + 10);
+        Optional<PingResult> result = engine.servicePing("127.0.0.1", closedPort, 1000).get(5, TimeUnit.SECONDS);
+        assertFalse(result.get().isSuccess());
+    }
+
+    @Test
+    public void detectionExecutorTerminatesOnShutdown() throws Exception {
+        ExecutorService executor = engine.newDetectionExecutor();
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(done::countDown);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertFalse(executor.awaitTermination(10, TimeUnit.MILLISECONDS));
+
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void queuedChecksDoNotTimeOut() throws Exception {
+        ReachabilityEngine engine = new ReachabilityEngine(1);
+        try {
+            // occupy the only thread of the pool
+            CountDownLatch release = new CountDownLatch(1);
+            engine.newDetectionExecutor().execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            DetectionExecutor executor = engine.newDetectionExecutor();
+            executor.execute(executor::shutdown);
+            CompletableFuture<Boolean> finished = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return executor.awaitChecks(50, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            // the check is still queued, its timeout has not started yet
+            Thread.sleep(300);
+            assertFalse(finished.isDone());
+
+            release.countDown();
+            assertTrue(finished.get(5, TimeUnit.SECONDS));
+        } finally {
+            engine.shutdown();
+        }
+    }
+}
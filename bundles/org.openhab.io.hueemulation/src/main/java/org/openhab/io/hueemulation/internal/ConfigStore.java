@@ -84,6 +84,11 @@ public class ConfigStore {
 
     public HueDataStore ds = new HueDataStore();
 
+    /**
+     * Serialized json of the data store collections, to be invalidated by all components that change the data store
+     */
+    public final DataStoreSnapshots snapshots = new DataStoreSnapshots();
+
     protected @NonNullByDefault({}) ScheduledExecutorService scheduler;
     private @Nullable ScheduledFuture<?> pairingOffFuture;
     private @Nullable ScheduledFuture<?> writeUUIDFuture;
@@ -385,6 +390,7 @@ public class ConfigStore {
     public void setLinkbutton(boolean linkbutton, boolean createUsersOnEveryEndpoint,
             boolean temporarilyEmulateV1bridge) {
         ds.config.linkbutton = linkbutton;
+        snapshots.invalidate();
         config.createNewUserOnEveryEndpoint = createUsersOnEveryEndpoint;
         if (temporarilyEmulateV1bridge) {
             ds.config.makeV1bridge();
@@ -406,6 +412,7 @@ public class ConfigStore {
             if (!config.permanentV1bridge) { // Restore bridge version
                 ds.config.makeV2bridge();
             }
+            snapshots.invalidate();
             config.createNewUserOnEveryEndpoint = false;
             config.temporarilyEmulateV1bridge = false;
             WriteConfig.unsetPairingMode(configAdmin);
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.events.Event;
+import org.openhab.core.events.EventFilter;
+import org.openhab.core.events.EventSubscriber;
+import org.openhab.core.items.events.GroupItemStateChangedEvent;
+import org.openhab.core.items.events.ItemStateChangedEvent;
+import org.openhab.io.hueemulation.internal.dto.HueGroupEntry;
+import org.openhab.io.hueemulation.internal.dto.HueLightEntry;
+import org.openhab.io.hueemulation.internal.dto.HueSensorEntry;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The lights, groups and sensors of the hue data store are serialized with the current state of their items.
+ * This component invalidates the {@link DataStoreSnapshots} whenever the state of an exposed item changes.
+ * <p>
+ * The names of the exposed items are kept in an index, which is rebuilt on the first event after the data store has
+ * been changed. Item events are frequent, changes of the data store are rare.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@Component(immediate = true, service = EventSubscriber.class)
+@NonNullByDefault
+public class DataStoreChangeTracker implements EventSubscriber {
+
+    private static final Set<String> EVENT_TYPES = Set.of(ItemStateChangedEvent.TYPE,
+            GroupItemStateChangedEvent.TYPE);
+
+    @Reference
+    protected @NonNullByDefault({}) ConfigStore cs;
+
+    private Set<String> exposedItems = Set.of();
+    private long exposedItemsRevision = -1;
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return EVENT_TYPES;
+    }
+
+    @Override
+    public @Nullable EventFilter getEventFilter() {
+        return null;
+    }
+
+    @Override
+    public void receive(Event event) {
+        if (event instanceof ItemStateChangedEvent && isExposed(((ItemStateChangedEvent) event).getItemName())) {
+            cs.snapshots.itemStateChanged();
+        }
+    }
+
+    private synchronized boolean isExposed(String itemName) {
+        long revision = cs.snapshots.getDataStoreRevision();
+        if (revision != exposedItemsRevision) {
+            try {
+                exposedItems = collectExposedItems();
+            } catch (ConcurrentModificationException e) {
+                // the data store is being changed right now, which invalidates the snapshots anyway
+                return true;
+            }
+            // the revision is read before collecting: if the data store changes meanwhile, the index is rebuilt on
+            // the next event
+            exposedItemsRevision = revision;
+        }
+        return exposedItems.contains(itemName);
+    }
+
+    private Set<String> collectExposedItems() {
+        Set<String> itemNames = new HashSet<>();
+        for (HueLightEntry light : cs.ds.lights.values()) {
+            if (light.item != null) {
+                itemNames.add(light.item.getName());
+            }
+        }
+        for (HueGroupEntry group : cs.ds.groups.values()) {
+            if (group.groupItem != null) {
+                itemNames.add(group.groupItem.getName());
+            }
+        }
+        for (HueSensorEntry sensor : cs.ds.sensors.values()) {
+            if (sensor.item != null) {
+                itemNames.add(sensor.item.getName());
+            }
+        }
+        return itemNames;
+    }
+}
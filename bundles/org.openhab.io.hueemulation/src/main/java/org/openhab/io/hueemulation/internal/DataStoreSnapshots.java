@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Keeps the serialized json of the often polled collections of the hue data store, so that repeated requests do not
+ * serialize all lights and groups again.
+ * <p>
+ * All snapshots belong to a data version, which is increased by {@link #invalidate()} whenever the data store is
+ * modified and by {@link #itemStateChanged()} whenever an exposed item changes. The version is also sent as ETag,
+ * clients that send it back in an If-None-Match header get a "304 Not Modified" without any serialization. The
+ * version starts at 0 again after a restart, so the ETag also contains an id of this instance.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class DataStoreSnapshots {
+
+    private static class Snapshot {
+        final String tag;
+        final byte[] body;
+
+        Snapshot(String tag, byte[] body) {
+            this.tag = tag;
+            this.body = body;
+        }
+    }
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong dataStoreRevision = new AtomicLong();
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Marks all snapshots as outdated because lights, groups, sensors or other entries of the data store have been
+     * added, removed or modified. They are serialized again on the next request.
+     */
+    public void invalidate() {
+        dataStoreRevision.incrementAndGet();
+        version.incrementAndGet();
+    }
+
+    /**
+     * Marks all snapshots as outdated because the state of an exposed item has changed. The entries of the data store
+     * are the same, so the {@link #getDataStoreRevision()} stays.
+     */
+    public void itemStateChanged() {
+        version.incrementAndGet();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * @return A number that changes with every {@link #invalidate()}, but not on item state changes
+     */
+    public long getDataStoreRevision() {
+        return dataStoreRevision.get();
+    }
+
+    /**
+     * Answers a GET request with the snapshot of the given collection.
+     *
+     * @param request The request, used to evaluate the If-None-Match header
+     * @param collection The name of the collection, like "lights"
+     * @param serializer Creates the json for the collection, only called if there is no up-to-date snapshot
+     * @return A "304 Not Modified" response if the client already has the current version, the json otherwise
+     */
+    public Response respond(Request request, String collection, Supplier<String> serializer) {
+        return respond(request, collection, "", serializer);
+    }
+
+    /**
+     * Like {@link #respond(Request, String, Supplier)}, for collections that also change without a data change, for
+     * example because they contain the current time. The snapshot is only valid as long as the given stamp does not
+     * change.
+     */
+    public Response respond(Request request, String collection, String stamp, Supplier<String> serializer) {
+        String tag = collection + "-" + instanceId + "-" + version.get() + stamp;
+        EntityTag etag = new EntityTag(tag);
+        ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+
+        Snapshot snapshot = getSnapshot(collection, tag);
+        if (snapshot == null) {
+            // the version is read before serializing: if the data changes meanwhile, the snapshot is stored with the
+            // outdated tag and replaced on the next request
+            snapshot = new Snapshot(tag, serializer.get().getBytes(StandardCharsets.UTF_8));
+            snapshots.put(collection, snapshot);
+        }
+        return Response.ok(snapshot.body, MediaType.APPLICATION_JSON_TYPE).tag(etag).build();
+    }
+
+    private @Nullable Snapshot getSnapshot(String collection, String tag) {
+        Snapshot snapshot = snapshots.get(collection);
+        return snapshot != null && snapshot.tag.equals(tag) ? snapshot : null;
+    }
+}
@@ -107,7 +107,23 @@ public class HueEmulationService implements EventHandler {
         }
     }
 
+    /**
+     * Any request that is not a GET might have changed the hue data store: Invalidate the json snapshots after the
+     * request has been processed.
+     */
+    public class WriteAccessInterceptor implements ContainerResponseFilter {
+        @NonNullByDefault({})
+        @Override
+        public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+            if (!HttpMethod.GET.equals(requestContext.getMethod())
+                    && !HttpMethod.HEAD.equals(requestContext.getMethod())) {
+                cs.snapshots.invalidate();
+            }
+        }
+    }
+
     private final ContainerRequestFilter requestCleaner = new RequestInterceptor();
+    private final ContainerResponseFilter writeInterceptor = new WriteAccessInterceptor();
 
     /**
      * The Jax-RS application that starts up all REST activities.
@@ -126,7 +142,7 @@ public class HueEmulationService implements EventHandler {
         @Override
         public Set<Object> getSingletons() {
             return Set.of(userManagement, configurationAccess, lightItems, sensors, scenes, schedules, rules,
-                    statusResource, accessInterceptor, requestCleaner);
+                    statusResource, accessInterceptor, requestCleaner, writeInterceptor);
         }
 
         Dictionary<String, String> serviceProperties() {
@@ -27,6 +27,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
@@ -185,6 +186,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
             cs.ds.lights.put(hueID, device);
             updateGroup0();
         }
+        cs.snapshots.invalidate();
     }
 
     /**
@@ -202,6 +204,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         cs.ds.lights.remove(hueID);
         cs.ds.groups.remove(hueID);
         updateGroup0();
+        cs.snapshots.invalidate();
     }
 
     /**
@@ -214,6 +217,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
             return;
         }
         GenericItem element = (GenericItem) newElement;
+        cs.snapshots.invalidate();
 
         String hueID = cs.mapItemUIDtoHueID(element);
 
@@ -247,12 +251,12 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @GET
     @Path("{username}/lights")
     @Operation(summary = "Return all lights", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getAllLightsApi(@Context UriInfo uri,
+    public Response getAllLightsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @Parameter(description = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights)).build();
+        return cs.snapshots.respond(request, "lights", () -> cs.gson.toJson(cs.ds.lights));
     }
 
     @GET
@@ -438,12 +442,12 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @GET
     @Path("{username}/groups")
     @Operation(summary = "Return all groups", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getAllGroupsApi(@Context UriInfo uri,
+    public Response getAllGroupsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @Parameter(description = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.groups)).build();
+        return cs.snapshots.respond(request, "groups", () -> cs.gson.toJson(cs.ds.groups));
     }
 
     @GET
@@ -144,11 +144,13 @@ public class Rules implements RegistryChangeListener<Rule> {
         });
 
         cs.ds.rules.put(rule.getUID(), entry);
+        cs.snapshots.invalidate();
     }
 
     @Override
     public void removed(Rule element) {
         cs.ds.rules.remove(element.getUID());
+        cs.snapshots.invalidate();
     }
 
     @Override
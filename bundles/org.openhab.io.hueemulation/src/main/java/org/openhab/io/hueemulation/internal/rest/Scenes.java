@@ -154,11 +154,13 @@ public class Scenes implements RegistryChangeListener<Rule> {
         }
 
         cs.ds.scenes.put(scene.getUID(), entry);
+        cs.snapshots.invalidate();
     }
 
     @Override
     public void removed(Rule element) {
         cs.ds.scenes.remove(element.getUID());
+        cs.snapshots.invalidate();
     }
 
     @Override
@@ -148,11 +148,13 @@ public class Schedules implements RegistryChangeListener<Rule> {
         }
 
         cs.ds.schedules.put(rule.getUID(), entry);
+        cs.snapshots.invalidate();
     }
 
     @Override
     public void removed(Rule element) {
         cs.ds.schedules.remove(element.getUID());
+        cs.snapshots.invalidate();
     }
 
     @Override
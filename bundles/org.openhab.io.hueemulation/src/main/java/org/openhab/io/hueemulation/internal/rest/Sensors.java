@@ -125,6 +125,7 @@ public class Sensors implements RegistryChangeListener<Item> {
 
         HueSensorEntry sensor = new HueSensorEntry(element);
         cs.ds.sensors.put(hueID, sensor);
+        cs.snapshots.invalidate();
     }
 
     @Override
@@ -132,6 +133,7 @@ public class Sensors implements RegistryChangeListener<Item> {
         String hueID = cs.mapItemUIDtoHueID(element);
         logger.debug("Remove item {}", hueID);
         cs.ds.sensors.remove(hueID);
+        cs.snapshots.invalidate();
     }
 
     @Override
@@ -145,6 +147,7 @@ public class Sensors implements RegistryChangeListener<Item> {
 
         HueSensorEntry sensor = new HueSensorEntry(element);
         cs.ds.sensors.put(hueID, sensor);
+        cs.snapshots.invalidate();
     }
 
     @GET
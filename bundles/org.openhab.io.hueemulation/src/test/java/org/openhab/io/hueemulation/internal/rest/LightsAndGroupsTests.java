@@ -16,11 +16,14 @@ import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.argThat;
-import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.*;
 
 import java.io.IOException;
 
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -32,11 +35,14 @@ import org.openhab.core.events.Event;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.events.ItemCommandEvent;
+import org.openhab.core.items.events.ItemEventFactory;
 import org.openhab.core.library.items.ColorItem;
 import org.openhab.core.library.items.SwitchItem;
 import org.openhab.core.library.types.HSBType;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.io.hueemulation.internal.ConfigStore;
+import org.openhab.io.hueemulation.internal.DataStoreChangeTracker;
+import org.openhab.io.hueemulation.internal.DataStoreSnapshots;
 import org.openhab.io.hueemulation.internal.DeviceType;
 import org.openhab.io.hueemulation.internal.dto.HueGroupEntry;
 import org.openhab.io.hueemulation.internal.dto.HueLightEntry;
@@ -335,6 +341,65 @@ public class LightsAndGroupsTests {
         assertThat(body, containsString("color"));
     }
 
+    @Test
+    public void allLightsNotModified() {
+        Response response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get();
+        assertEquals(200, response.getStatus());
+        EntityTag etag = response.getEntityTag();
+        assertThat(etag, is(notNullValue()));
+        assertThat(response.readEntity(String.class), containsString("color"));
+
+        // Unchanged data store: no body
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag.toString()).get();
+        assertEquals(304, response.getStatus());
+
+        // A new light invalidates the snapshot
+        SwitchItem item = new SwitchItem("switch1");
+        item.addTag("Switchable");
+        itemRegistry.add(item);
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag.toString()).get();
+        assertEquals(200, response.getStatus());
+        assertThat(response.getEntityTag(), is(not(etag)));
+        assertThat(response.readEntity(String.class), containsString("switch1"));
+    }
+
+    @Test
+    public void etagChangesAfterRestart() {
+        Request request = mock(Request.class);
+        EntityTag etag = new DataStoreSnapshots().respond(request, "lights", () -> "{}").getEntityTag();
+
+        // The version starts again, a client must not get a "304 Not Modified" for its old ETag
+        assertThat(new DataStoreSnapshots().respond(request, "lights", () -> "{}").getEntityTag(), is(not(etag)));
+    }
+
+    @Test
+    public void stateChangeOfExposedItemInvalidates() {
+        DataStoreChangeTracker tracker = new DataStoreChangeTracker() {
+            {
+                cs = LightsAndGroupsTests.this.cs;
+            }
+        };
+
+        long version = cs.snapshots.getVersion();
+        tracker.receive(ItemEventFactory.createStateChangedEvent("switch", OnOffType.ON, OnOffType.OFF));
+        assertThat(cs.snapshots.getVersion(), is(version + 1));
+
+        // Not exposed
+        tracker.receive(ItemEventFactory.createStateChangedEvent("switch1", OnOffType.ON, OnOffType.OFF));
+        assertThat(cs.snapshots.getVersion(), is(version + 1));
+
+        // Exposed by a data store change after the index was built
+        SwitchItem item = new SwitchItem("switch1");
+        item.addTag("Switchable");
+        itemRegistry.add(item);
+        version = cs.snapshots.getVersion();
+        tracker.receive(ItemEventFactory.createStateChangedEvent("switch1", OnOffType.ON, OnOffType.OFF));
+        assertThat(cs.snapshots.getVersion(), is(version + 1));
+    }
+
     private boolean assertHueValue(ItemCommandEvent ce, int hueValue) {
         assertThat(((HSBType) ce.getItemCommand()).getHue().intValue(), is(hueValue * 360 / HueStateColorBulb.MAX_HUE));
         return true;
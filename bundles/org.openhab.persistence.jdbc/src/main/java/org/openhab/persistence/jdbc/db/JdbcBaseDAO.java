@@ -13,12 +13,18 @@
 package org.openhab.persistence.jdbc.db;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -335,6 +341,55 @@ public class JdbcBaseDAO {
         Yank.execute(sql, params);
     }
 
+    /**
+     * Converts the current state of the item into a row for the batched write pipeline. The time of the row is taken
+     * now, so a row written later by {@link #doStoreItemValues(List)} keeps the time of the store call.
+     */
+    public ItemVO doPrepareItemValue(Item item, ItemVO vo) {
+        ItemVO storedVO = storeItemValueProvider(item, vo);
+        storedVO.setTime(new Date());
+        return storedVO;
+    }
+
+    /**
+     * Writes rows prepared by {@link #doPrepareItemValue(Item, ItemVO)} in one transaction, using one
+     * {@link PreparedStatement} batch per item table.
+     */
+    public void doStoreItemValues(List<ItemVO> vol) throws SQLException {
+        // rows with the same table and time would violate the primary key, the last one wins
+        Map<String, Map<Date, ItemVO>> tables = new LinkedHashMap<>();
+        for (ItemVO vo : vol) {
+            tables.computeIfAbsent(vo.getTableName(), t -> new LinkedHashMap<>()).put(vo.getTime(), vo);
+        }
+        try (Connection con = Yank.getDefaultConnectionPool().getConnection()) {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try {
+                for (Map<Date, ItemVO> rows : tables.values()) {
+                    List<ItemVO> tableRows = new ArrayList<>(rows.values());
+                    String sql = storeItemValuesProvider(tableRows.get(0));
+                    logger.debug("JDBC::doStoreItemValues sql={} rows={}", sql, tableRows.size());
+                    try (PreparedStatement statement = con.prepareStatement(sql)) {
+                        for (ItemVO vo : tableRows) {
+                            Object[] params = storeItemValuesParamsProvider(vo);
+                            for (int i = 0; i < params.length; i++) {
+                                statement.setObject(i + 1, params[i]);
+                            }
+                            statement.addBatch();
+                        }
+                        statement.executeBatch();
+                    }
+                }
+                con.commit();
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) {
         String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
@@ -396,6 +451,18 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
+    /**
+     * Same statement as used by {@link #doStoreItemValue(Item, ItemVO)}, but the time column is bound as parameter.
+     */
+    protected String storeItemValuesProvider(ItemVO vo) {
+        return sqlInsertItemValue.replace("#tableName#", vo.getTableName()).replace("#dbType#", vo.getDbType())
+                .replace("#tablePrimaryValue#", "?");
+    }
+
+    protected Object[] storeItemValuesParamsProvider(ItemVO vo) {
+        return new Object[] { new Timestamp(vo.getTime().getTime()), vo.getValue(), vo.getValue() };
+    }
+
     protected ItemVO storeItemValueProvider(Item item, ItemVO vo) {
         String itemType = getItemType(item);
 
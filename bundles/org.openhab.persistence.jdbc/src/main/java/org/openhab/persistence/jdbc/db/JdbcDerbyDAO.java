@@ -12,6 +12,7 @@
  */
 package org.openhab.persistence.jdbc.db;
 
+import java.sql.Timestamp;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -158,6 +159,17 @@ public class JdbcDerbyDAO extends JdbcBaseDAO {
         Yank.execute(sql, params);
     }
 
+    @Override
+    protected String storeItemValuesProvider(ItemVO vo) {
+        return sqlInsertItemValue.replace("#tableName#", vo.getTableName().toUpperCase())
+                .replace("#dbType#", vo.getDbType()).replace("#tablePrimaryValue#", "?");
+    }
+
+    @Override
+    protected Object[] storeItemValuesParamsProvider(ItemVO vo) {
+        return new Object[] { new Timestamp(vo.getTime().getTime()), vo.getValue() };
+    }
+
     @Override
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) {
@@ -12,6 +12,8 @@
  */
 package org.openhab.persistence.jdbc.db;
 
+import java.sql.Timestamp;
+
 import org.knowm.yank.Yank;
 import org.openhab.core.items.Item;
 import org.openhab.persistence.jdbc.model.ItemVO;
@@ -111,6 +113,18 @@ public class JdbcHsqldbDAO extends JdbcBaseDAO {
         Yank.execute(sql, params);
     }
 
+    @Override
+    protected String storeItemValuesProvider(ItemVO vo) {
+        // the VALUES of the MERGE need a typed parameter, an untyped ? can't be resolved by HSQLDB
+        return sqlInsertItemValue.replace("#tableName#", vo.getTableName()).replace("#dbType#", vo.getDbType())
+                .replace("#tablePrimaryValue#", "CAST( ? as " + sqlTypes.get("tablePrimaryKey") + ")");
+    }
+
+    @Override
+    protected Object[] storeItemValuesParamsProvider(ItemVO vo) {
+        return new Object[] { new Timestamp(vo.getTime().getTime()), vo.getValue() };
+    }
+
     /****************************
      * SQL generation Providers *
      ****************************/
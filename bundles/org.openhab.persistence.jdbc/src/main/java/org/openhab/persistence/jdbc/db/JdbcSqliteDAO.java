@@ -12,6 +12,9 @@
  */
 package org.openhab.persistence.jdbc.db;
 
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
 import org.knowm.yank.Yank;
 import org.openhab.core.items.Item;
 import org.openhab.persistence.jdbc.model.ItemVO;
@@ -30,6 +33,8 @@ import org.slf4j.LoggerFactory;
 public class JdbcSqliteDAO extends JdbcBaseDAO {
     private final Logger logger = LoggerFactory.getLogger(JdbcSqliteDAO.class);
 
+    private static final DateTimeFormatter SQLITE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
     /********
      * INIT *
      ********/
@@ -100,6 +105,13 @@ public class JdbcSqliteDAO extends JdbcBaseDAO {
         Yank.execute(sql, params);
     }
 
+    @Override
+    protected Object[] storeItemValuesParamsProvider(ItemVO vo) {
+        // keep the text format written by strftime(..., 'localtime')
+        String time = SQLITE_DATE_FORMAT.format(vo.getTime().toInstant().atZone(ZoneId.systemDefault()));
+        return new Object[] { time, vo.getValue() };
+    }
+
     /****************************
      * SQL generation Providers *
      ****************************/
@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.persistence.jdbc.db.JdbcBaseDAO;
+import org.openhab.persistence.jdbc.model.ItemVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write-behind queue for item values. Rows are collected in a bounded queue and written by
+ * {@link JdbcBaseDAO#doStoreItemValues(List)} when either the configured batch size is reached or the flush interval
+ * has passed.
+ *
+ * If the queue is full, the storing thread flushes the queue itself, which slows down producers instead of dropping
+ * values. If a batch cannot be written, its rows are written one by one, so a single bad row does not cost the whole
+ * batch. The {@link WriteListener} is told about every successful and every lost write, so that failed writes count
+ * towards the reconnect threshold like immediate writes.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcBatchWriter {
+
+    /**
+     * Informed about the outcome of the writes of the batch writer.
+     */
+    public interface WriteListener {
+        /**
+         * Called after rows have been written.
+         */
+        void writeSucceeded();
+
+        /**
+         * Called for every row which could not be written.
+         */
+        void writeFailed(Exception e);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(JdbcBatchWriter.class);
+
+    private final ScheduledExecutorService scheduler = ThreadPoolManager
+            .getScheduledPool(JdbcBatchWriter.class.getSimpleName());
+
+    private final JdbcBaseDAO dao;
+    private final WriteListener listener;
+    private final int batchSize;
+    private final BlockingQueue<ItemVO> queue;
+    private final Object flushLock = new Object();
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    // metrics
+    private final AtomicLong rowsQueued = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong rowsFailed = new AtomicLong();
+    private final AtomicLong batchesWritten = new AtomicLong();
+    private final AtomicLong queueFullCount = new AtomicLong();
+    private volatile int maxQueueDepth;
+
+    public JdbcBatchWriter(JdbcBaseDAO dao, int batchSize, int queueSize, WriteListener listener) {
+        this.dao = dao;
+        this.listener = listener;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(Math.max(queueSize, batchSize));
+    }
+
+    public void start(int interval) {
+        logger.debug("JDBC::JdbcBatchWriter::start batchSize={} interval={} ms queueSize={}", batchSize, interval,
+                queue.remainingCapacity());
+        flushJob = scheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic flush and writes all rows still in the queue.
+     */
+    public void stop() {
+        ScheduledFuture<?> job = flushJob;
+        if (job != null) {
+            job.cancel(false);
+            flushJob = null;
+        }
+        flush();
+        logger.debug("JDBC::JdbcBatchWriter::stop {}", getStatistics());
+    }
+
+    public void enqueue(ItemVO vo) {
+        while (!queue.offer(vo)) {
+            // backpressure: the caller pays for writing the pending rows
+            queueFullCount.incrementAndGet();
+            logger.debug("JDBC::JdbcBatchWriter::enqueue queue full, flushing in calling thread");
+            flush();
+        }
+        rowsQueued.incrementAndGet();
+        int depth = queue.size();
+        if (depth > maxQueueDepth) {
+            maxQueueDepth = depth;
+        }
+        if (depth >= batchSize && flushPending.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+    }
+
+    /**
+     * Writes all queued rows, in chunks of at most the batch size.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            flushPending.set(false);
+            List<ItemVO> rows = new ArrayList<>(batchSize);
+            while (queue.drainTo(rows, batchSize) > 0) {
+                long timerStart = System.currentTimeMillis();
+                try {
+                    dao.doStoreItemValues(rows);
+                    rowsWritten.addAndGet(rows.size());
+                    batchesWritten.incrementAndGet();
+                    listener.writeSucceeded();
+                    logger.debug("JDBC::JdbcBatchWriter::flush wrote {} rows in {} ms, {} rows still queued",
+                            rows.size(), System.currentTimeMillis() - timerStart, queue.size());
+                } catch (SQLException | RuntimeException e) {
+                    logger.warn("JDBC::JdbcBatchWriter::flush failed to write {} rows, writing them one by one: {}",
+                            rows.size(), e.getMessage());
+                    storeSingleRows(rows);
+                }
+                rows.clear();
+            }
+        }
+    }
+
+    private void storeSingleRows(List<ItemVO> rows) {
+        for (ItemVO row : rows) {
+            try {
+                dao.doStoreItemValues(Collections.singletonList(row));
+                rowsWritten.incrementAndGet();
+                listener.writeSucceeded();
+            } catch (SQLException | RuntimeException e) {
+                rowsFailed.incrementAndGet();
+                listener.writeFailed(e);
+                logger.warn("JDBC::JdbcBatchWriter::flush failed to write row of table {}: {}", row.getTableName(),
+                        e.getMessage());
+            }
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public String getStatistics() {
+        return String.format(
+                "queued=%d written=%d failed=%d batches=%d queueDepth=%d maxQueueDepth=%d queueFull=%d",
+                rowsQueued.get(), rowsWritten.get(), rowsFailed.get(), batchesWritten.get(), queue.size(),
+                maxQueueDepth, queueFullCount.get());
+    }
+}
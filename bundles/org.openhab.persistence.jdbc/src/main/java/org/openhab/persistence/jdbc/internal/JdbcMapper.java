@@ -42,10 +42,11 @@ public class JdbcMapper {
     private final TimeZoneProvider timeZoneProvider;
 
     // Error counter - used to reconnect to database on error
-    protected int errCnt;
+    protected volatile int errCnt;
     protected boolean initialized = false;
     protected JdbcConfiguration conf = null;
     protected final Map<String, String> sqlTables = new HashMap<>();
+    protected JdbcBatchWriter batchWriter = null;
     private long afterAccessMin = 10000;
     private long afterAccessMax = 0;
     private static final String ITEM_NAME_PATTERN = "[^a-zA-Z_0-9\\-]";
@@ -153,9 +154,14 @@ public class JdbcMapper {
             return item;
         }
         long timerStart = System.currentTimeMillis();
-        conf.getDBDAO().doStoreItemValue(item, new ItemVO(tableName, null));
+        if (batchWriter != null) {
+            // the error counter is maintained by the batch writer, see batchWriteFailed()
+            batchWriter.enqueue(conf.getDBDAO().doPrepareItemValue(item, new ItemVO(tableName, null)));
+        } else {
+            conf.getDBDAO().doStoreItemValue(item, new ItemVO(tableName, null));
+            errCnt = 0;
+        }
         logTime("storeItemValue", timerStart, System.currentTimeMillis());
-        errCnt = 0;
         return item;
     }
 
@@ -166,6 +172,10 @@ public class JdbcMapper {
                 (filter != null), numberDecimalcount, table, item, item.getName());
         if (table != null) {
             long timerStart = System.currentTimeMillis();
+            if (batchWriter != null) {
+                // make pending rows visible to the query
+                batchWriter.flush();
+            }
             List<HistoricItem> result = conf.getDBDAO().doGetHistItemFilterQuery(item, filter, numberDecimalcount,
                     table, item.getName(), timeZoneProvider.getTimeZone());
             logTime("getHistItemFilterQuery", timerStart, System.currentTimeMillis());
@@ -195,6 +205,50 @@ public class JdbcMapper {
         return true;
     }
 
+    protected void startBatchWriter() {
+        stopBatchWriter();
+        if (conf.getBatchSize() > 0) {
+            logger.info("JDBC::startBatchWriter: write-behind enabled, batchSize={} batchInterval={} ms",
+                    conf.getBatchSize(), conf.getBatchInterval());
+            batchWriter = new JdbcBatchWriter(conf.getDBDAO(), conf.getBatchSize(), conf.getBatchQueueSize(),
+                    new JdbcBatchWriter.WriteListener() {
+                        @Override
+                        public void writeSucceeded() {
+                            errCnt = 0;
+                        }
+
+                        @Override
+                        public void writeFailed(Exception e) {
+                            batchWriteFailed();
+                        }
+                    });
+            batchWriter.start(conf.getBatchInterval());
+        }
+    }
+
+    /**
+     * Counts a row the batch writer could not write. Once the errReconnectThreshold is exceeded, the connection pool
+     * is set up again.
+     */
+    private synchronized void batchWriteFailed() {
+        errCnt++;
+        int threshold = conf.getErrReconnectThreshold();
+        if (threshold > 0 && errCnt > threshold) {
+            logger.warn("JDBC::batchWriteFailed: {} writes failed, reconnecting to database", errCnt);
+            closeConnection();
+            openConnection();
+            errCnt = 0;
+        }
+    }
+
+    protected void stopBatchWriter() {
+        if (batchWriter != null) {
+            JdbcBatchWriter writer = batchWriter;
+            batchWriter = null;
+            writer.stop();
+        }
+    }
+
     protected void closeConnection() {
         logger.debug("JDBC::closeConnection");
         // Closes all open connection pools
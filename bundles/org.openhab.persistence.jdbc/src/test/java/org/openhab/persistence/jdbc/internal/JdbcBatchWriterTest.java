@@ -0,0 +1,189 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.persistence.jdbc.db.JdbcBaseDAO;
+import org.openhab.persistence.jdbc.model.ItemVO;
+
+/**
+ * Tests the {@link JdbcBatchWriter}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcBatchWriterTest {
+    private static final int LONG_INTERVAL = (int) TimeUnit.HOURS.toMillis(1);
+
+    private final JdbcBaseDAO dao = mock(JdbcBaseDAO.class);
+    private final JdbcBatchWriter.WriteListener listener = mock(JdbcBatchWriter.WriteListener.class);
+    // the writer reuses its row list, so the rows of each call are copied
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private @Nullable JdbcBatchWriter writer;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        doAnswer(invocation -> {
+            batches.add(tableNames(invocation.getArgument(0)));
+            return null;
+        }).when(dao).doStoreItemValues(anyList());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JdbcBatchWriter writer = this.writer;
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    private JdbcBatchWriter startWriter(int batchSize, int queueSize, int interval) {
+        JdbcBatchWriter writer = new JdbcBatchWriter(dao, batchSize, queueSize, listener);
+        writer.start(interval);
+        this.writer = writer;
+        return writer;
+    }
+
+    private static ItemVO row(int i) {
+        return new ItemVO("item" + i, null);
+    }
+
+    private static List<String> tableNames(List<ItemVO> rows) {
+        return rows.stream().map(ItemVO::getTableName).collect(Collectors.toList());
+    }
+
+    private List<String> writtenRows() {
+        return batches.stream().flatMap(List::stream).collect(Collectors.toList());
+    }
+
+    @Test
+    public void flushWhenBatchSizeIsReached() throws SQLException {
+        JdbcBatchWriter writer = startWriter(3, 100, LONG_INTERVAL);
+
+        writer.enqueue(row(1));
+        writer.enqueue(row(2));
+        verify(dao, after(200).never()).doStoreItemValues(anyList());
+
+        writer.enqueue(row(3));
+        verify(dao, timeout(5000)).doStoreItemValues(anyList());
+        assertThat(batches, is(List.of(List.of("item1", "item2", "item3"))));
+        assertThat(writer.getQueueDepth(), is(0));
+    }
+
+    @Test
+    public void flushAfterInterval() throws SQLException {
+        JdbcBatchWriter writer = startWriter(100, 100, 50);
+
+        writer.enqueue(row(1));
+        verify(dao, timeout(5000)).doStoreItemValues(anyList());
+        assertThat(batches, is(List.of(List.of("item1"))));
+        verify(listener, timeout(5000)).writeSucceeded();
+        verify(listener, never()).writeFailed(any());
+    }
+
+    @Test
+    public void stopWritesQueuedRows() throws SQLException {
+        JdbcBatchWriter writer = startWriter(10, 100, LONG_INTERVAL);
+        writer.enqueue(row(1));
+        writer.enqueue(row(2));
+        writer.enqueue(row(3));
+        this.writer = null;
+
+        writer.stop();
+        assertThat(batches, is(List.of(List.of("item1", "item2", "item3"))));
+        assertThat(writer.getQueueDepth(), is(0));
+    }
+
+    @Test
+    public void fullQueueBlocksProducerUntilRowsAreWritten() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            batches.add(tableNames(invocation.getArgument(0)));
+            writing.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return null;
+        }).when(dao).doStoreItemValues(anyList());
+        JdbcBatchWriter writer = startWriter(2, 4, LONG_INTERVAL);
+
+        // the first two rows are taken by a flush, which blocks in the database
+        writer.enqueue(row(1));
+        writer.enqueue(row(2));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        // fill the queue
+        for (int i = 3; i <= 6; i++) {
+            writer.enqueue(row(i));
+        }
+        assertThat(writer.getQueueDepth(), is(4));
+
+        Thread producer = new Thread(() -> writer.enqueue(row(7)));
+        producer.start();
+        producer.join(200);
+        assertTrue(producer.isAlive(), "producer must wait while the queue is full");
+
+        release.countDown();
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+
+        writer.stop();
+        this.writer = null;
+        List<String> expected = IntStream.rangeClosed(1, 7).mapToObj(i -> "item" + i).collect(Collectors.toList());
+        List<String> written = new ArrayList<>(writtenRows());
+        written.sort(null);
+        assertThat(written, is(expected));
+        assertThat(writer.getStatistics(), containsString("queueFull=1"));
+    }
+
+    @Test
+    public void failedBatchIsWrittenRowByRow() throws SQLException {
+        doAnswer(invocation -> {
+            List<String> rows = tableNames(invocation.getArgument(0));
+            if (rows.size() > 1 || rows.contains("item2")) {
+                throw new SQLException("rejected");
+            }
+            batches.add(rows);
+            return null;
+        }).when(dao).doStoreItemValues(anyList());
+        JdbcBatchWriter writer = startWriter(10, 100, LONG_INTERVAL);
+
+        writer.enqueue(row(1));
+        writer.enqueue(row(2));
+        writer.enqueue(row(3));
+        writer.flush();
+
+        assertThat(batches, is(List.of(List.of("item1"), List.of("item3"))));
+        assertThat(writer.getStatistics(), containsString("written=2 failed=1"));
+        assertThat(writer.getQueueDepth(), is(0));
+        verify(listener, times(2)).writeSucceeded();
+        verify(listener).writeFailed(any(SQLException.class));
+    }
+}
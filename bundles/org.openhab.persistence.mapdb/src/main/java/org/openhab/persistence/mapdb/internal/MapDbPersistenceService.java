@@ -22,16 +22,18 @@ import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
+import org.mapdb.Serializer;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.items.Item;
@@ -68,18 +70,27 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
     private static final Path DB_DIR = new File(OpenHAB.getUserDataFolder(), "persistence").toPath().resolve("mapdb");
     private static final Path BACKUP_DIR = DB_DIR.resolve("backup");
     private static final String DB_FILE_NAME = "storage.mapdb";
+    private static final String JSON_STORE_NAME = "itemStore";
+    private static final String BINARY_STORE_NAME = "itemStoreBinary";
+
+    // changes are committed in groups, after this many stores or this many milliseconds, whatever comes first
+    private static final int COMMIT_COUNT = 100;
+    private static final long COMMIT_INTERVAL = 5000;
 
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
-    private final ExecutorService threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+    private final ScheduledExecutorService threadPool = ThreadPoolManager
+            .getScheduledPool(getClass().getSimpleName());
 
     /** holds the local instance of the MapDB database */
 
     private @NonNullByDefault({}) DB db;
-    private @NonNullByDefault({}) Map<String, String> map;
+    private @NonNullByDefault({}) Map<String, byte[]> map;
+
+    private final MapDbItemSerializer serializer = new MapDbItemSerializer();
 
-    private transient Gson mapper = new GsonBuilder().registerTypeHierarchyAdapter(State.class, new StateTypeAdapter())
-            .create();
+    private final AtomicInteger uncommitted = new AtomicInteger();
+    private @Nullable ScheduledFuture<?> commitJob;
 
     @Activate
     public void activate() {
@@ -96,7 +107,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         File dbFile = DB_DIR.resolve(DB_FILE_NAME).toFile();
         try {
             db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-            map = db.createTreeMap("itemStore").makeOrGet();
+            map = openStore();
         } catch (RuntimeException re) {
             Throwable cause = re.getCause();
             if (cause instanceof ClassNotFoundException) {
@@ -129,23 +140,61 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
                 }
 
                 db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-                map = db.createTreeMap("itemStore").makeOrGet();
+                map = openStore();
             } else {
                 logger.warn("Failed to create or open the MapDB: {}", re.getMessage());
                 logger.warn("MapDB persistence service activation has failed.");
             }
         }
+        commitJob = threadPool.scheduleWithFixedDelay(this::commit, COMMIT_INTERVAL, COMMIT_INTERVAL,
+                TimeUnit.MILLISECONDS);
         logger.debug("MapDB persistence service is now activated");
     }
 
     @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
+        ScheduledFuture<?> job = commitJob;
+        if (job != null) {
+            job.cancel(false);
+            commitJob = null;
+        }
         if (db != null) {
+            commit();
             db.close();
         }
     }
 
+    private Map<String, byte[]> openStore() {
+        Map<String, byte[]> store = db.createTreeMap(BINARY_STORE_NAME).valueSerializer(Serializer.BYTE_ARRAY)
+                .makeOrGet();
+        if (db.exists(JSON_STORE_NAME)) {
+            migrateJsonStore(store);
+        }
+        return store;
+    }
+
+    /**
+     * Converts the JSON entries written by earlier versions to the binary format and removes the JSON store.
+     */
+    private void migrateJsonStore(Map<String, byte[]> store) {
+        Gson mapper = new GsonBuilder().registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
+        Map<String, String> jsonStore = db.getTreeMap(JSON_STORE_NAME);
+        int migrated = 0;
+        for (Map.Entry<String, String> entry : jsonStore.entrySet()) {
+            MapDbItem item = mapper.<MapDbItem> fromJson(entry.getValue(), MapDbItem.class);
+            if (item != null && item.isValid()) {
+                store.put(entry.getKey(), serializer.serialize(item));
+                migrated++;
+            } else {
+                logger.warn("Dropping invalid item '{}' while migrating the MapDB", entry.getKey());
+            }
+        }
+        db.delete(JSON_STORE_NAME);
+        db.commit();
+        logger.info("Migrated {} items of the MapDB to the binary format", migrated);
+    }
+
     @Override
     public String getId() {
         return SERVICE_ID;
@@ -158,8 +207,12 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return map.values().stream().map(this::deserialize).flatMap(MapDbPersistenceService::streamOptional)
-                .collect(Collectors.<PersistenceItemInfo> toUnmodifiableSet());
+        // only the names are needed, there is no need to read the states
+        return map.keySet().stream().map(name -> {
+            MapDbItem item = new MapDbItem();
+            item.setName(name);
+            return item;
+        }).collect(Collectors.<PersistenceItemInfo> toUnmodifiableSet());
     }
 
     @Override
@@ -182,47 +235,27 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setName(localAlias);
         mItem.setState(state);
         mItem.setTimestamp(new Date());
-        String json = serialize(mItem);
-        map.put(localAlias, json);
-        commit();
-        if (logger.isDebugEnabled()) {
-            logger.debug("Stored '{}' with state '{}' as '{}' in MapDB database", localAlias, state, json);
+        map.put(localAlias, serializer.serialize(mItem));
+        if (uncommitted.incrementAndGet() == COMMIT_COUNT) {
+            threadPool.submit(this::commit);
         }
+        logger.debug("Stored '{}' with state '{}' in MapDB database", localAlias, state);
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
+        byte[] data = map.get(filter.getItemName());
+        if (data == null) {
             return List.of();
         }
-        Optional<MapDbItem> item = deserialize(json);
-        return item.isPresent() ? List.of(item.get()) : List.of();
-    }
-
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
-    }
-
-    @SuppressWarnings("null")
-    private Optional<MapDbItem> deserialize(String json) {
-        MapDbItem item = mapper.<MapDbItem> fromJson(json, MapDbItem.class);
-        if (item == null || !item.isValid()) {
-            logger.warn("Deserialized invalid item: {}", item);
-            return Optional.empty();
-        } else if (logger.isDebugEnabled()) {
-            logger.debug("Deserialized '{}' with state '{}' from '{}'", item.getName(), item.getState(), json);
-        }
-
-        return Optional.of(item);
+        MapDbItem item = serializer.deserialize(filter.getItemName(), data);
+        return item != null ? List.of(item) : List.of();
     }
 
     private void commit() {
-        threadPool.submit(() -> db.commit());
-    }
-
-    private static <T> Stream<T> streamOptional(Optional<T> opt) {
-        return opt.isPresent() ? Stream.of(opt.get()) : Stream.empty();
+        if (uncommitted.getAndSet(0) > 0) {
+            db.commit();
+        }
     }
 
     @Override
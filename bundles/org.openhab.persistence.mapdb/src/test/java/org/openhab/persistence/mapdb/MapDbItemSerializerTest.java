@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.openhab.core.library.types.DateTimeType;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.PlayPauseType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.types.UpDownType;
+import org.openhab.core.library.unit.ImperialUnits;
+import org.openhab.core.library.unit.SIUnits;
+import org.openhab.core.library.unit.Units;
+import org.openhab.core.types.State;
+import org.openhab.persistence.mapdb.internal.MapDbItem;
+import org.openhab.persistence.mapdb.internal.MapDbItemSerializer;
+
+/**
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbItemSerializerTest {
+    private MapDbItemSerializer serializer = new MapDbItemSerializer();
+
+    private static final List<State> VALUES = Stream.of(
+            List.of(DecimalType.ZERO, new DecimalType(1.123), new DecimalType(10000000), new DecimalType(-42.5)),
+            List.of(HSBType.BLACK, HSBType.GREEN, HSBType.WHITE, HSBType.fromRGB(1, 2, 3),
+                    HSBType.fromRGB(11, 22, 33), HSBType.fromRGB(0, 0, 255)),
+            List.of(OnOffType.ON, OnOffType.OFF, OpenClosedType.OPEN, OpenClosedType.CLOSED, UpDownType.UP,
+                    UpDownType.DOWN),
+            List.of(PercentType.ZERO, PercentType.HUNDRED, PercentType.valueOf("0.0000001"),
+                    PercentType.valueOf("12"), PercentType.valueOf("99.999")),
+            List.of(QuantityType.valueOf("0 W"), QuantityType.valueOf("1 kW"), QuantityType.valueOf(20, Units.AMPERE),
+                    new QuantityType<>(new BigDecimal("21.23"), SIUnits.CELSIUS),
+                    new QuantityType<>(new BigDecimal("75"), ImperialUnits.MILES_PER_HOUR),
+                    QuantityType.valueOf(1000, Units.KELVIN), QuantityType.valueOf(100, Units.METRE_PER_SQUARE_SECOND),
+                    new QuantityType<>(new BigDecimal("0.5"), Units.ONE)),
+            List.of(StringType.valueOf("test"), StringType.valueOf("a b c 1 2 3"), StringType.valueOf(""),
+                    StringType.valueOf("@@@###   @@@"), StringType.valueOf("äöü €")),
+            List.of(new DateTimeType(ZonedDateTime.of(2021, 3, 14, 15, 9, 26, 535000000, ZoneId.of("Europe/Berlin"))),
+                    new DateTimeType(ZonedDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC")))),
+            List.of(PlayPauseType.PLAY, PlayPauseType.PAUSE)).flatMap(list -> list.stream())
+            .collect(Collectors.toList());
+
+    @ParameterizedTest
+    @MethodSource
+    public void readWriteRoundtripShouldRecreateTheWrittenState(State state) {
+        MapDbItem item = new MapDbItem();
+        item.setName("item");
+        item.setState(state);
+        item.setTimestamp(new Date(1615730966535L));
+
+        MapDbItem actual = Objects.requireNonNull(serializer.deserialize("item", serializer.serialize(item)));
+        assertThat(actual.getName(), is(equalTo("item")));
+        assertThat(actual.getState(), is(equalTo(state)));
+        assertThat(actual.getTimestamp(), is(equalTo(item.getTimestamp())));
+    }
+
+    public static Stream<State> readWriteRoundtripShouldRecreateTheWrittenState() {
+        return VALUES.stream();
+    }
+
+    @Test
+    public void unreadableDataShouldReturnNull() {
+        assertThat(serializer.deserialize("item", new byte[0]), is(nullValue()));
+        assertThat(serializer.deserialize("item", new byte[] { 99 }), is(nullValue()));
+    }
+}
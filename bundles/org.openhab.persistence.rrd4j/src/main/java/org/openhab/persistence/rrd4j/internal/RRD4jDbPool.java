@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps rrd4j databases open between calls, so that a store or query does not have to open the file and parse its
+ * header every time.
+ *
+ * Every {@link #acquire} must be paired with a {@link #release}. While acquired, a database is never closed. Released
+ * databases stay open until the pool grows beyond its capacity, then the least recently used ones are closed.
+ * Each database has its own lock, so that updates of different items can run in parallel. Databases are closed while
+ * holding the pool lock, so a file is never opened again before the previous instance for it has been closed.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jDbPool {
+
+    /**
+     * Creates the {@link RrdDef} for a database file which does not exist yet.
+     */
+    @FunctionalInterface
+    public interface RrdDefProvider {
+        @Nullable
+        RrdDef getRrdDef() throws IOException;
+    }
+
+    /**
+     * An open database together with its use count and lock.
+     */
+    public static class Entry {
+        private final String path;
+        private final RrdDb db;
+        private final ReentrantLock lock = new ReentrantLock();
+        private int useCount;
+
+        private Entry(String path, RrdDb db) {
+            this.path = path;
+            this.db = db;
+        }
+
+        public RrdDb getDb() {
+            return db;
+        }
+
+        /**
+         * Serializes access to this database file, for read-modify-write sequences like the ones in
+         * {@link RRD4jPersistenceService#store}.
+         */
+        public ReentrantLock getLock() {
+            return lock;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(RRD4jDbPool.class);
+
+    private final int capacity;
+    // access ordered, the eldest entry is the least recently used one
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // opening or creating a file is done outside the pool lock, these locks only prevent two threads from opening the
+    // same file at the same time
+    private final Map<String, Object> openLocks = new ConcurrentHashMap<>();
+
+    public RRD4jDbPool(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the open database for the given file, opening or creating it if necessary.
+     *
+     * @param path absolute path of the database file
+     * @param defProvider used to create the file if it does not exist
+     * @return the database or <code>null</code> if the file does not exist and no definition was provided
+     * @throws IOException if the file could not be opened or created
+     */
+    public @Nullable Entry acquire(String path, RrdDefProvider defProvider) throws IOException {
+        Entry entry = acquireOpen(path);
+        if (entry != null) {
+            return entry;
+        }
+
+        synchronized (openLocks.computeIfAbsent(path, p -> new Object())) {
+            // another thread might have opened it while we waited
+            entry = acquireOpen(path);
+            if (entry != null) {
+                return entry;
+            }
+            RrdDb db;
+            if (new File(path).exists()) {
+                db = new RrdDb(path);
+            } else {
+                RrdDef rrdDef = defProvider.getRrdDef();
+                if (rrdDef == null) {
+                    return null;
+                }
+                db = new RrdDb(rrdDef);
+            }
+            entry = new Entry(path, db);
+            entry.useCount = 1;
+            synchronized (entries) {
+                entries.put(path, entry);
+                evict();
+            }
+            return entry;
+        }
+    }
+
+    private @Nullable Entry acquireOpen(String path) {
+        synchronized (entries) {
+            Entry entry = entries.get(path);
+            if (entry != null) {
+                entry.useCount++;
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * Gives back a database obtained by {@link #acquire}.
+     */
+    public void release(Entry entry) {
+        synchronized (entries) {
+            entry.useCount--;
+            evict();
+            if (entry.useCount <= 0 && entries.get(entry.path) != entry) {
+                // removed from the pool by closeAll while in use
+                close(entry);
+            }
+        }
+    }
+
+    /**
+     * Closes all databases which are not in use and forgets all others; these are closed on their last release.
+     */
+    public void closeAll() {
+        synchronized (entries) {
+            for (Iterator<Entry> it = entries.values().iterator(); it.hasNext();) {
+                Entry entry = it.next();
+                it.remove();
+                if (entry.useCount <= 0) {
+                    close(entry);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // must be called while holding the pool lock
+    private void evict() {
+        int excess = entries.size() - capacity;
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext() && excess > 0;) {
+            Entry entry = it.next();
+            if (entry.useCount <= 0) {
+                it.remove();
+                close(entry);
+                excess--;
+            }
+        }
+    }
+
+    // must be called while holding the pool lock, an entry which is not in use is never locked by anyone else
+    private void close(Entry entry) {
+        entry.lock.lock();
+        try {
+            entry.db.close();
+            logger.trace("Closed rrd4j database '{}'", entry.path);
+        } catch (IOException e) {
+            logger.debug("Error closing rrd4j database '{}': {}", entry.path, e.getMessage());
+        } finally {
+            entry.lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.DsType;
+
+/**
+ * Collects all updates of one item within one step of its rrd4j database, so that the step is written with a single
+ * sample.
+ *
+ * The updates are merged according to the consolidation function of the database: MIN and MAX keep the extreme
+ * value, FIRST keeps the first and LAST the latest value, AVERAGE and TOTAL keep the mean value like rrd4j does for
+ * several updates of a GAUGE within one step. Values of other datasource types are not merged, the latest one wins.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jPendingSample {
+
+    private final String name;
+    private final long step;
+    private final ConsolFun function;
+    private final long firstTime;
+    private long time;
+    private double value;
+    private int count;
+
+    public RRD4jPendingSample(String name, long step, ConsolFun function, DsType dsType, long time, double value) {
+        this.name = name;
+        this.step = step;
+        this.function = dsType == DsType.GAUGE ? function : ConsolFun.LAST;
+        this.firstTime = time;
+        this.time = time;
+        this.value = value;
+        this.count = 1;
+    }
+
+    /**
+     * Merges another update into this sample.
+     *
+     * @return <code>false</code> if the update belongs to a later step and has not been merged
+     */
+    public boolean add(long time, double value) {
+        if (isComplete(time)) {
+            return false;
+        }
+        switch (function) {
+            case MIN:
+                this.value = Math.min(this.value, value);
+                break;
+            case MAX:
+                this.value = Math.max(this.value, value);
+                break;
+            case FIRST:
+                break;
+            case AVERAGE:
+            case TOTAL:
+                this.value += (value - this.value) / (count + 1);
+                break;
+            case LAST:
+            default:
+                this.value = value;
+                break;
+        }
+        this.time = time;
+        count++;
+        return true;
+    }
+
+    /**
+     * @return <code>true</code> if the step of this sample is over at the given time
+     */
+    public boolean isComplete(long now) {
+        return now / step > firstTime / step;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the time of the first update merged into this sample, in seconds
+     */
+    public long getFirstTime() {
+        return firstTime;
+    }
+
+    /**
+     * @return the time of the latest update merged into this sample, in seconds
+     */
+    public long getTime() {
+        return time;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
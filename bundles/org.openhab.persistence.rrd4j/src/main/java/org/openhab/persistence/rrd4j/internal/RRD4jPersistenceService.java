@@ -18,7 +18,6 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -67,6 +66,7 @@ import org.openhab.core.types.State;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.rrd4j.ConsolFun;
@@ -100,8 +100,8 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     private static final Set<String> SUPPORTED_TYPES = Set.of(CoreItemFactory.SWITCH, CoreItemFactory.CONTACT,
             CoreItemFactory.DIMMER, CoreItemFactory.NUMBER, CoreItemFactory.ROLLERSHUTTER, CoreItemFactory.COLOR);
 
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(3,
-            new NamedThreadFactory("RRD4j"));
+    private final ScheduledExecutorService scheduler = Executors
+            .newSingleThreadScheduledExecutor(new NamedThreadFactory("RRD4j"));
 
     private final Map<String, RrdDefConfig> rrdDefs = new ConcurrentHashMap<>();
 
@@ -111,7 +111,14 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     private final Logger logger = LoggerFactory.getLogger(RRD4jPersistenceService.class);
 
-    private final Map<String, ScheduledFuture<?>> scheduledJobs = new HashMap<>();
+    // the sample of an item is only read, replaced or written while holding the lock of its database
+    private final Map<String, RRD4jPendingSample> pendingSamples = new ConcurrentHashMap<>();
+    private @Nullable ScheduledFuture<?> writerJob;
+
+    // number of database files kept open, enough for typical setups while staying well below common file handle limits
+    private static final int DB_POOL_SIZE = 500;
+
+    private final RRD4jDbPool dbPool = new RRD4jDbPool(DB_POOL_SIZE);
 
     protected final ItemRegistry itemRegistry;
 
@@ -131,27 +138,125 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     }
 
     @Override
-    public synchronized void store(final Item item, @Nullable final String alias) {
+    public void store(final Item item, @Nullable final String alias) {
         if (!isSupportedItemType(item)) {
             logger.trace("Ignoring item '{}' since its type {} is not supported", item.getName(), item.getType());
             return;
         }
         final String name = alias == null ? item.getName() : alias;
-        RrdDb db = getDB(name);
-        if (db != null) {
+        Double value = getValue(item);
+        if (value == null) {
+            return;
+        }
+        RRD4jDbPool.Entry entry = getDB(name);
+        if (entry == null) {
+            return;
+        }
+        long now = System.currentTimeMillis() / 1000;
+        entry.getLock().lock();
+        try {
+            RrdDb db = entry.getDb();
+            long step = db.getHeader().getStep();
+            DsType dsType = db.getDatasource(DATASOURCE_STATE).getType();
+            if (dsType == DsType.COUNTER) { // counter values must be adjusted by stepsize
+                value = value * step;
+            }
+            double sampleValue = value;
+            ConsolFun function = getConsolidationFunction(db);
+            // updates within one step are merged and written once the step is over, either here by the first update of
+            // the next step or by the sample writer
+            RRD4jPendingSample pending = pendingSamples.get(name);
+            if (pending == null || !pending.add(now, sampleValue)) {
+                if (pending != null) {
+                    writeSample(db, pending);
+                }
+                pendingSamples.put(name, new RRD4jPendingSample(name, step, function, dsType, now, sampleValue));
+            }
+            logger.trace("Queued '{}' as value '{}' for rrd4j database", name, sampleValue);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
+        } finally {
+            entry.getLock().unlock();
+            dbPool.release(entry);
+        }
+    }
+
+    private @Nullable Double getValue(Item item) {
+        Double value = null;
+        if (item instanceof NumberItem && item.getState() instanceof QuantityType) {
+            NumberItem nItem = (NumberItem) item;
+            QuantityType<?> qState = (QuantityType<?>) item.getState();
+            Unit<? extends Quantity<?>> unit = nItem.getUnit();
+            if (unit != null) {
+                QuantityType<?> convertedState = qState.toUnit(unit);
+                if (convertedState != null) {
+                    value = convertedState.doubleValue();
+                } else {
+                    logger.warn(
+                            "Failed to convert state '{}' to unit '{}'. Please check your item definition for correctness.",
+                            qState, unit);
+                }
+            } else {
+                value = qState.doubleValue();
+            }
+        } else {
+            DecimalType state = item.getStateAs(DecimalType.class);
+            if (state != null) {
+                value = state.toBigDecimal().doubleValue();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Writes all samples whose step is over, or all samples if <code>all</code> is set. A sample is removed and
+     * written while holding the lock of its database, the same lock {@link #store} holds while replacing it, so every
+     * step is written at most once and in order.
+     */
+    private void writeSamples(boolean all) {
+        long now = System.currentTimeMillis() / 1000;
+        for (Map.Entry<String, RRD4jPendingSample> sample : pendingSamples.entrySet()) {
+            if (all || sample.getValue().isComplete(now)) {
+                flushSample(sample.getKey(), all, now);
+            }
+        }
+    }
+
+    private void flushSample(String name, boolean all, long now) {
+        RRD4jDbPool.Entry entry = getDB(name);
+        if (entry == null) {
+            return;
+        }
+        entry.getLock().lock();
+        try {
+            // check again, a store might have written and replaced the sample meanwhile
+            RRD4jPendingSample pending = pendingSamples.get(name);
+            if (pending != null && (all || pending.isComplete(now))) {
+                pendingSamples.remove(name);
+                writeSample(entry.getDb(), pending);
+            }
+        } finally {
+            entry.getLock().unlock();
+            dbPool.release(entry);
+        }
+    }
+
+    // must be called while holding the lock of the database
+    private void writeSample(RrdDb db, RRD4jPendingSample pending) {
+        String name = pending.getName();
+        try {
             ConsolFun function = getConsolidationFunction(db);
-            long now = System.currentTimeMillis() / 1000;
             if (function != ConsolFun.AVERAGE) {
                 try {
                     // we store the last value again, so that the value change
                     // in the database is not interpolated, but
                     // happens right at this spot
-                    if (now - 1 > db.getLastUpdateTime()) {
+                    if (pending.getFirstTime() - 1 > db.getLastUpdateTime()) {
                         // only do it if there is not already a value
                         double lastValue = db.getLastDatasourceValue(DATASOURCE_STATE);
                         if (!Double.isNaN(lastValue)) {
                             Sample sample = db.createSample();
-                            sample.setTime(now - 1);
+                            sample.setTime(pending.getFirstTime() - 1);
                             sample.setValue(DATASOURCE_STATE, lastValue);
                             sample.update();
                             logger.debug("Stored '{}' as value '{}' in rrd4j database (again)", name, lastValue);
@@ -161,65 +266,19 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                     logger.debug("Error storing last value (again): {}", e.getMessage());
                 }
             }
-            try {
-                Sample sample = db.createSample();
-                sample.setTime(now);
-
-                Double value = null;
-
-                if (item instanceof NumberItem && item.getState() instanceof QuantityType) {
-                    NumberItem nItem = (NumberItem) item;
-                    QuantityType<?> qState = (QuantityType<?>) item.getState();
-                    Unit<? extends Quantity<?>> unit = nItem.getUnit();
-                    if (unit != null) {
-                        QuantityType<?> convertedState = qState.toUnit(unit);
-                        if (convertedState != null) {
-                            value = convertedState.doubleValue();
-                        } else {
-                            logger.warn(
-                                    "Failed to convert state '{}' to unit '{}'. Please check your item definition for correctness.",
-                                    qState, unit);
-                        }
-                    } else {
-                        value = qState.doubleValue();
-                    }
-                } else {
-                    DecimalType state = item.getStateAs(DecimalType.class);
-                    if (state != null) {
-                        value = state.toBigDecimal().doubleValue();
-                    }
-                }
-                if (value != null) {
-                    if (db.getDatasource(DATASOURCE_STATE).getType() == DsType.COUNTER) { // counter values must be
-                                                                                          // adjusted by stepsize
-                        value = value * db.getRrdDef().getStep();
-                    }
-                    sample.setValue(DATASOURCE_STATE, value);
-                    sample.update();
-                    logger.debug("Stored '{}' as value '{}' in rrd4j database", name, value);
-                }
-            } catch (IllegalArgumentException e) {
-                String message = e.getMessage();
-                if (message != null && message.contains("at least one second step is required")) {
-                    // we try to store the value one second later
-                    ScheduledFuture<?> job = scheduledJobs.get(name);
-                    if (job != null) {
-                        job.cancel(true);
-                        scheduledJobs.remove(name);
-                    }
-                    job = scheduler.schedule(() -> store(item, name), 1, TimeUnit.SECONDS);
-                    scheduledJobs.put(name, job);
-                } else {
-                    logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
-                }
-            } catch (Exception e) {
-                logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
-            }
-            try {
-                db.close();
-            } catch (IOException e) {
-                logger.debug("Error closing rrd4j database: {}", e.getMessage());
+            if (pending.getTime() <= db.getLastUpdateTime()) {
+                logger.debug("Dropping value '{}' for '{}', the rrd4j database already has a newer value",
+                        pending.getValue(), name);
+                return;
             }
+            Sample sample = db.createSample();
+            sample.setTime(pending.getTime());
+            sample.setValue(DATASOURCE_STATE, pending.getValue());
+            sample.update();
+            logger.debug("Stored '{}' as value '{}' in rrd4j database ({} updates merged)", name, pending.getValue(),
+                    pending.getCount());
+        } catch (Exception e) {
+            logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
         }
     }
 
@@ -232,11 +291,22 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     public Iterable<HistoricItem> query(FilterCriteria filter) {
         String itemName = filter.getItemName();
 
-        RrdDb db = getDB(itemName);
-        if (db == null) {
+        RRD4jDbPool.Entry entry = getDB(itemName);
+        if (entry == null) {
             logger.debug("Could not find item '{}' in rrd4j database", itemName);
             return List.of();
         }
+        entry.getLock().lock();
+        try {
+            return query(filter, entry.getDb());
+        } finally {
+            entry.getLock().unlock();
+            dbPool.release(entry);
+        }
+    }
+
+    private Iterable<HistoricItem> query(FilterCriteria filter, RrdDb db) {
+        String itemName = filter.getItemName();
 
         Item item = null;
         Unit<?> unit = null;
@@ -267,6 +337,13 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                         && filter.getPageNumber() == 0) {
                     if (filter.getEndDate() == null) {
                         // we are asked only for the most recent value!
+                        RRD4jPendingSample pending = pendingSamples.get(itemName);
+                        if (pending != null) {
+                            // not written yet
+                            return List.of(new RRD4jItem(itemName, mapToState(pending.getValue(), item, unit),
+                                    ZonedDateTime.ofInstant(Instant.ofEpochSecond(pending.getTime()),
+                                            ZoneId.systemDefault())));
+                        }
                         double lastValue = db.getLastDatasourceValue(DATASOURCE_STATE);
                         if (!Double.isNaN(lastValue)) {
                             HistoricItem rrd4jItem = new RRD4jItem(itemName, mapToState(lastValue, item, unit),
@@ -313,35 +390,33 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return Set.of();
     }
 
-    protected synchronized @Nullable RrdDb getDB(String alias) {
-        RrdDb db = null;
+    /**
+     * Returns the pooled database for the given item, creating the file if it does not exist yet. The returned entry
+     * must be given back by {@link RRD4jDbPool#release}.
+     */
+    protected @Nullable RRD4jDbPool.Entry getDB(String alias) {
         File file = new File(DB_FOLDER + File.separator + alias + ".rrd");
         try {
-            if (file.exists()) {
-                // recreate the RrdDb instance from the file
-                db = new RrdDb(file.getAbsolutePath());
-            } else {
+            RRD4jDbPool.Entry entry = dbPool.acquire(file.getAbsolutePath(), () -> {
                 File folder = new File(DB_FOLDER);
                 if (!folder.exists()) {
                     folder.mkdirs();
                 }
-                RrdDef rrdDef = getRrdDef(alias, file);
-                if (rrdDef != null) {
-                    // create a new database file
-                    db = new RrdDb(rrdDef);
-                } else {
-                    logger.debug(
-                            "Did not create rrd4j database for item '{}' since no rrd definition could be determined. This is likely due to an unsupported item type.",
-                            alias);
-                }
+                return getRrdDef(alias, file);
+            });
+            if (entry == null) {
+                logger.debug(
+                        "Did not create rrd4j database for item '{}' since no rrd definition could be determined. This is likely due to an unsupported item type.",
+                        alias);
             }
+            return entry;
         } catch (IOException e) {
             logger.error("Could not create rrd4j database file '{}': {}", file.getAbsolutePath(), e.getMessage());
         } catch (RejectedExecutionException e) {
             // this happens if the system is shut down
             logger.debug("Could not create rrd4j database file '{}': {}", file.getAbsolutePath(), e.getMessage());
         }
-        return db;
+        return null;
     }
 
     private @Nullable RrdDefConfig getRrdDefConfig(String itemName) {
@@ -394,7 +469,7 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     public ConsolFun getConsolidationFunction(RrdDb db) {
         try {
-            return db.getRrdDef().getArcDefs()[0].getConsolFun();
+            return db.getArchive(0).getConsolFun();
         } catch (IOException e) {
             return ConsolFun.MAX;
         }
@@ -441,6 +516,24 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     @Activate
     protected void activate(final Map<String, Object> config) {
         modified(config);
+        writerJob = scheduler.scheduleWithFixedDelay(() -> writeSamples(false), 1, 1, TimeUnit.SECONDS);
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        ScheduledFuture<?> job = writerJob;
+        if (job != null) {
+            job.cancel(false);
+            writerJob = null;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeSamples(true);
+        dbPool.closeAll();
     }
 
     @Modified
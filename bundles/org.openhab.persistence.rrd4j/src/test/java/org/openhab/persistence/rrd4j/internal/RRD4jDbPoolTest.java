@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.DsType;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDef;
+
+/**
+ * Tests {@link RRD4jDbPool}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jDbPoolTest {
+
+    private static final long START = 1_600_000_000L;
+
+    private @TempDir @NonNullByDefault({}) File folder;
+
+    private final RRD4jDbPool pool = new RRD4jDbPool(2);
+
+    @AfterEach
+    public void tearDown() {
+        pool.closeAll();
+    }
+
+    @Test
+    public void leastRecentlyUsedIdleDatabaseIsEvicted() throws IOException {
+        RRD4jDbPool.Entry a = acquire("a");
+        RRD4jDbPool.Entry b = acquire("b");
+        pool.release(a);
+        pool.release(b);
+
+        RRD4jDbPool.Entry c = acquire("c");
+        pool.release(c);
+
+        assertThat(pool.size(), is(2));
+        assertThat(a.getDb().isClosed(), is(true));
+        assertThat(b.getDb().isClosed(), is(false));
+        assertThat(c.getDb().isClosed(), is(false));
+    }
+
+    @Test
+    public void databasesInUseAreNotEvicted() throws IOException {
+        RRD4jDbPool.Entry a = acquire("a");
+        RRD4jDbPool.Entry b = acquire("b");
+        RRD4jDbPool.Entry c = acquire("c");
+
+        assertThat(pool.size(), is(3));
+        assertThat(a.getDb().isClosed(), is(false));
+
+        pool.release(b);
+        assertThat(pool.size(), is(2));
+        assertThat(b.getDb().isClosed(), is(true));
+        assertThat(a.getDb().isClosed(), is(false));
+
+        pool.release(a);
+        pool.release(c);
+    }
+
+    @Test
+    public void releasedDatabaseIsReused() throws IOException {
+        RRD4jDbPool.Entry first = acquire("a");
+        pool.release(first);
+        RRD4jDbPool.Entry second = acquire("a");
+        pool.release(second);
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(second.getDb().isClosed(), is(false));
+    }
+
+    @Test
+    public void evictedDatabaseIsReopenedWithItsData() throws IOException {
+        RRD4jDbPool.Entry a = acquire("a");
+        a.getDb().createSample(START + 60).setValue(0, 42.0).update();
+        pool.release(a);
+        pool.release(acquire("b"));
+        pool.release(acquire("c"));
+        assertThat(a.getDb().isClosed(), is(true));
+
+        RRD4jDbPool.Entry reopened = acquire("a");
+        try {
+            assertThat(reopened, is(not(sameInstance(a))));
+            assertThat(reopened.getDb().isClosed(), is(false));
+            assertThat(reopened.getDb().getLastUpdateTime(), is(START + 60));
+        } finally {
+            pool.release(reopened);
+        }
+    }
+
+    @Test
+    public void missingFileWithoutDefinitionIsNotCreated() throws IOException {
+        String path = new File(folder, "missing.rrd").getAbsolutePath();
+
+        assertThat(pool.acquire(path, () -> null), is(nullValue()));
+        assertThat(new File(path).exists(), is(false));
+        assertThat(pool.size(), is(0));
+    }
+
+    @Test
+    public void closeAllClosesDatabasesInUseOnRelease() throws IOException {
+        RRD4jDbPool.Entry a = acquire("a");
+        RRD4jDbPool.Entry b = acquire("b");
+        pool.release(b);
+
+        pool.closeAll();
+        assertThat(pool.size(), is(0));
+        assertThat(b.getDb().isClosed(), is(true));
+        assertThat(a.getDb().isClosed(), is(false));
+
+        pool.release(a);
+        assertThat(a.getDb().isClosed(), is(true));
+    }
+
+    private RRD4jDbPool.Entry acquire(String name) throws IOException {
+        String path = new File(folder, name + ".rrd").getAbsolutePath();
+        return Objects.requireNonNull(pool.acquire(path, () -> createDef(path)));
+    }
+
+    private static RrdDef createDef(String path) {
+        RrdDef def = new RrdDef(path, START, 60);
+        def.addDatasource("state", DsType.GAUGE, 120, Double.NaN, Double.NaN);
+        def.addArchive(ConsolFun.AVERAGE, 0.5, 1, 10);
+        return def;
+    }
+}
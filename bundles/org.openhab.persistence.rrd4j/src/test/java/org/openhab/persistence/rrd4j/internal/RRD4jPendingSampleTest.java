@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.DsType;
+
+/**
+ * Tests {@link RRD4jPendingSample}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jPendingSampleTest {
+
+    private static final long STEP = 60;
+    private static final long START = 1_600_000_000L; // 40 seconds into a step
+
+    @Test
+    public void minKeepsSmallestValue() {
+        RRD4jPendingSample sample = merge(ConsolFun.MIN, DsType.GAUGE, 5, 2, 8);
+
+        assertThat(sample.getValue(), is(2.0));
+        assertThat(sample.getCount(), is(3));
+    }
+
+    @Test
+    public void maxKeepsLargestValue() {
+        RRD4jPendingSample sample = merge(ConsolFun.MAX, DsType.GAUGE, 5, 8, 2);
+
+        assertThat(sample.getValue(), is(8.0));
+    }
+
+    @Test
+    public void firstKeepsFirstValue() {
+        RRD4jPendingSample sample = merge(ConsolFun.FIRST, DsType.GAUGE, 5, 8, 2);
+
+        assertThat(sample.getValue(), is(5.0));
+        assertThat(sample.getFirstTime(), is(START));
+        assertThat(sample.getTime(), is(START + 2));
+    }
+
+    @Test
+    public void lastKeepsLatestValue() {
+        RRD4jPendingSample sample = merge(ConsolFun.LAST, DsType.GAUGE, 5, 8, 2);
+
+        assertThat(sample.getValue(), is(2.0));
+    }
+
+    @Test
+    public void averageKeepsMeanValue() {
+        RRD4jPendingSample sample = merge(ConsolFun.AVERAGE, DsType.GAUGE, 1, 2, 6);
+
+        assertThat(sample.getValue(), is(3.0));
+        assertThat(sample.getCount(), is(3));
+    }
+
+    @Test
+    public void otherDatasourceTypesKeepLatestValue() {
+        assertThat(merge(ConsolFun.MAX, DsType.COUNTER, 5, 8, 2).getValue(), is(2.0));
+        assertThat(merge(ConsolFun.AVERAGE, DsType.DERIVE, 1, 2, 6).getValue(), is(6.0));
+        assertThat(merge(ConsolFun.MIN, DsType.ABSOLUTE, 5, 2, 8).getValue(), is(8.0));
+    }
+
+    @Test
+    public void updateOfNextStepIsNotMerged() {
+        RRD4jPendingSample sample = new RRD4jPendingSample("item", STEP, ConsolFun.LAST, DsType.GAUGE, START, 1);
+        long nextStep = (START / STEP + 1) * STEP;
+
+        assertThat(sample.isComplete(nextStep - 1), is(false));
+        assertThat(sample.add(nextStep - 1, 2), is(true));
+
+        assertThat(sample.isComplete(nextStep), is(true));
+        assertThat(sample.add(nextStep, 3), is(false));
+        assertThat(sample.getValue(), is(2.0));
+        assertThat(sample.getTime(), is(nextStep - 1));
+        assertThat(sample.getCount(), is(2));
+    }
+
+    @Test
+    public void stepStartsAtMultipleOfStepSize() {
+        long stepStart = START / STEP * STEP;
+        RRD4jPendingSample sample = new RRD4jPendingSample("item", STEP, ConsolFun.LAST, DsType.GAUGE, stepStart, 1);
+
+        assertThat(sample.isComplete(stepStart + STEP - 1), is(false));
+        assertThat(sample.isComplete(stepStart + STEP), is(true));
+    }
+
+    private static RRD4jPendingSample merge(ConsolFun function, DsType dsType, double first, double... values) {
+        RRD4jPendingSample sample = new RRD4jPendingSample("item", STEP, function, dsType, START, first);
+        long time = START;
+        for (double value : values) {
+            assertThat(sample.add(++time, value), is(true));
+        }
+        return sample;
+    }
+}
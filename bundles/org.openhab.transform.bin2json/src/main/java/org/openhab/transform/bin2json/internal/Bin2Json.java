@@ -50,7 +50,8 @@ import com.igormaznitsa.jbbp.model.JBBPFieldUShort;
 /**
  * This class converts binary data to JSON format.
  *
- * Parser rules follows Java Binary Block Parser syntax.
+ * Parser rules follows Java Binary Block Parser syntax. The rule is prepared once in the constructor, an instance can
+ * then be used for any number of conversions, also from several threads.
  *
  * <p>
  *
@@ -73,7 +74,7 @@ public class Bin2Json {
 
     private final Logger logger = LoggerFactory.getLogger(Bin2Json.class);
 
-    private JBBPParser parser;
+    private final JBBPParser parser;
 
     /**
      *
@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.bin2json.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.transform.TransformationException;
+
+/**
+ * Tests the {@link Bin2JsonTransformationService}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class Bin2JsonTransformationServiceTest {
+    private static final String SYNTAX = "byte a; byte b; ubyte c;";
+
+    private final Bin2JsonTransformationService service = new Bin2JsonTransformationService();
+
+    @Test
+    public void transformHexString() throws TransformationException {
+        assertThat(service.transform(SYNTAX, "03FAFF"), is("{\"a\":3,\"b\":-6,\"c\":255}"));
+    }
+
+    @Test
+    public void illegalInput() {
+        assertThrows(TransformationException.class, () -> service.transform(SYNTAX, "03FA"));
+        assertThrows(TransformationException.class, () -> service.transform(SYNTAX, "03FAXX"));
+        assertThrows(TransformationException.class, () -> service.transform("byte a b;", "03FAFF"));
+    }
+
+    @Test
+    public void parserIsReused() throws ConversionException {
+        Bin2Json parser = service.getParser(SYNTAX);
+        assertThat(service.getParser(SYNTAX), is(sameInstance(parser)));
+        assertThat(service.getParser("byte a;"), is(not(sameInstance(parser))));
+    }
+
+    @Test
+    public void leastRecentlyUsedParserIsEvicted() throws ConversionException {
+        Bin2Json first = service.getParser("byte a0;");
+        Bin2Json second = service.getParser("byte a1;");
+        for (int i = 2; i < 100; i++) {
+            service.getParser("byte a" + i + ";");
+        }
+        // 100 parsers are cached, using the first one makes the second one the eldest
+        assertThat(service.getParser("byte a0;"), is(sameInstance(first)));
+        service.getParser("byte a100;");
+
+        assertThat(service.getParser("byte a0;"), is(sameInstance(first)));
+        assertThat(service.getParser("byte a1;"), is(not(sameInstance(second))));
+    }
+}
@@ -13,6 +13,8 @@
 package org.openhab.transform.exec.internal;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -21,6 +23,8 @@ import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,22 +37,69 @@ import org.slf4j.LoggerFactory;
  * @author Jan N. Klug - added command whitelist service
  */
 @NonNullByDefault
-@Component(property = { "openhab.transform=EXEC" })
+@Component(configurationPid = "org.openhab.transform.exec", property = { "openhab.transform=EXEC" })
 public class ExecTransformationService implements TransformationService {
+    /** Prefix of command lines which are run as long running workers instead of once per value */
+    public static final String WORKER_PREFIX = "worker:";
+
+    private static final String CONFIG_WORKER_POOL_SIZE = "workerPoolSize";
+    private static final String CONFIG_WORKER_TIMEOUT = "workerTimeout";
+    private static final int DEFAULT_WORKER_POOL_SIZE = 1;
+    private static final long DEFAULT_WORKER_TIMEOUT = 5000;
+
     private final Logger logger = LoggerFactory.getLogger(ExecTransformationService.class);
     private final ExecTransformationWhitelistWatchService execTransformationWhitelistWatchService;
+    private final Map<String, ExecTransformationWorkerPool> workerPools = new ConcurrentHashMap<>();
+
+    private int workerPoolSize = DEFAULT_WORKER_POOL_SIZE;
+    private Duration workerTimeout = Duration.ofMillis(DEFAULT_WORKER_TIMEOUT);
 
     @Activate
     public ExecTransformationService(
-            @Reference ExecTransformationWhitelistWatchService execTransformationWhitelistWatchService) {
+            @Reference ExecTransformationWhitelistWatchService execTransformationWhitelistWatchService,
+            Map<String, Object> config) {
         this.execTransformationWhitelistWatchService = execTransformationWhitelistWatchService;
+        modified(config);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        workerPoolSize = Math.max(1, (int) getLong(config, CONFIG_WORKER_POOL_SIZE, DEFAULT_WORKER_POOL_SIZE));
+        workerTimeout = Duration.ofMillis(Math.max(1, getLong(config, CONFIG_WORKER_TIMEOUT, DEFAULT_WORKER_TIMEOUT)));
+        logger.debug("Worker pool size is {}, worker timeout is {} ms", workerPoolSize, workerTimeout.toMillis());
+        // pools are created again with the new size on next use
+        closeWorkerPools();
+    }
+
+    @Deactivate
+    public void deactivate() {
+        closeWorkerPools();
+    }
+
+    private void closeWorkerPools() {
+        workerPools.values().forEach(ExecTransformationWorkerPool::close);
+        workerPools.clear();
+    }
+
+    private long getLong(Map<String, Object> config, String key, long defaultValue) {
+        Object value = config.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value '{}' for '{}', using {}", value, key, defaultValue);
+            return defaultValue;
+        }
     }
 
     /**
      * Transforms the input <code>source</code> by the command line.
      *
      * @param commandLine the command to execute. Command line should contain %s string, which will be replaced by the
-     *            input data.
+     *            input data. If it starts with {@link #WORKER_PREFIX}, the command is kept running and gets one input
+     *            value per line instead.
      * @param source the input to transform
      */
     @Override
@@ -57,6 +108,10 @@ public class ExecTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'commandLine' and 'source' must not be null");
         }
 
+        if (commandLine.startsWith(WORKER_PREFIX)) {
+            return transformByWorker(commandLine.substring(WORKER_PREFIX.length()).trim(), source);
+        }
+
         if (!execTransformationWhitelistWatchService.isWhitelisted(commandLine)) {
             logger.warn("Tried to execute '{}', but it is not contained in whitelist.", commandLine);
             return null;
@@ -72,4 +127,21 @@ public class ExecTransformationService implements TransformationService {
 
         return result;
     }
+
+    private @Nullable String transformByWorker(String commandLine, String source) throws TransformationException {
+        if (!execTransformationWhitelistWatchService.isWhitelisted(commandLine)) {
+            logger.warn("Tried to execute '{}', but it is not contained in whitelist.", commandLine);
+            return null;
+        }
+        logger.debug("about to transform '{}' by the worker '{}'", source, commandLine);
+
+        long startTime = System.currentTimeMillis();
+
+        String result = workerPools
+                .computeIfAbsent(commandLine, c -> new ExecTransformationWorkerPool(c, workerPoolSize))
+                .transform(source, workerTimeout);
+        logger.trace("worker execution elapsed {} ms", System.currentTimeMillis() - startTime);
+
+        return result;
+    }
 }
@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.transform.TransformationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A long running process which transforms one value per line: the value is written to its standard input and the
+ * result is read as one line from its standard output.
+ *
+ * A worker is used by one thread at a time. After a timeout or an error the process is killed and the worker must not
+ * be used any more.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class ExecTransformationWorker {
+    private final Logger logger = LoggerFactory.getLogger(ExecTransformationWorker.class);
+
+    private final String commandLine;
+    private final Process process;
+    private final BufferedWriter input;
+    // lines read from the standard output, an empty optional marks the end of the stream
+    private final BlockingQueue<Optional<String>> output = new LinkedBlockingQueue<>();
+    private volatile boolean alive = true;
+
+    public ExecTransformationWorker(String commandLine) throws IOException {
+        this.commandLine = commandLine;
+        process = new ProcessBuilder(commandLine.split(" ")).start();
+        input = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+
+        Thread outputReader = new Thread(this::readOutput, "OH-transform-exec-worker-" + process.pid());
+        outputReader.setDaemon(true);
+        outputReader.start();
+        Thread errorReader = new Thread(this::readError, "OH-transform-exec-worker-" + process.pid() + "-stderr");
+        errorReader.setDaemon(true);
+        errorReader.start();
+
+        logger.debug("Started worker '{}' with pid {}", commandLine, process.pid());
+    }
+
+    /**
+     * Sends one value to the process and waits for its answer.
+     *
+     * @param source the value, line breaks are replaced by spaces
+     * @param timeout the time to wait for the answer
+     * @return the answer without line terminator
+     * @throws TransformationException if the process died or did not answer in time; the worker is dead then
+     */
+    public String transform(String source, Duration timeout) throws TransformationException {
+        if (!isAlive()) {
+            throw new TransformationException("Worker '" + commandLine + "' is not running");
+        }
+        try {
+            input.write(source.replace("\r\n", " ").replace('\n', ' ').replace('\r', ' '));
+            input.newLine();
+            input.flush();
+
+            Optional<String> line = output.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (line == null) {
+                destroy();
+                throw new TransformationException(
+                        "Worker '" + commandLine + "' did not answer within " + timeout.toMillis() + " ms");
+            }
+            if (line.isEmpty()) {
+                destroy();
+                throw new TransformationException("Worker '" + commandLine + "' has terminated");
+            }
+            return line.get();
+        } catch (IOException e) {
+            destroy();
+            throw new TransformationException("Failed to write to worker '" + commandLine + "'", e);
+        } catch (InterruptedException e) {
+            destroy();
+            Thread.currentThread().interrupt();
+            throw new TransformationException("Interrupted while waiting for worker '" + commandLine + "'", e);
+        }
+    }
+
+    public boolean isAlive() {
+        return alive && process.isAlive();
+    }
+
+    public void destroy() {
+        if (alive) {
+            alive = false;
+            logger.debug("Stopping worker '{}' with pid {}", commandLine, process.pid());
+            process.destroy();
+        }
+    }
+
+    private void readOutput() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.add(Optional.of(line));
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to read from worker '{}': {}", commandLine, e.getMessage());
+        } finally {
+            alive = false;
+            output.add(Optional.empty());
+        }
+    }
+
+    private void readError() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                logger.debug("Worker '{}' error output: {}", commandLine, line);
+            }
+        } catch (IOException e) {
+            // the process has terminated
+        }
+    }
+
+    @Override
+    public String toString() {
+        return commandLine + " (pid " + process.pid() + ")";
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.transform.TransformationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of {@link ExecTransformationWorker}s for one command line.
+ *
+ * Workers are started on demand, up to the size of the pool, and kept running afterwards. A worker which crashed or
+ * timed out is dropped and replaced by a new one on the next request.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class ExecTransformationWorkerPool {
+    private final Logger logger = LoggerFactory.getLogger(ExecTransformationWorkerPool.class);
+
+    private final String commandLine;
+    private final Semaphore permits;
+    private final BlockingQueue<ExecTransformationWorker> idleWorkers = new LinkedBlockingQueue<>();
+    private volatile boolean closed;
+
+    public ExecTransformationWorkerPool(String commandLine, int size) {
+        this.commandLine = commandLine;
+        this.permits = new Semaphore(size, true);
+    }
+
+    /**
+     * Transforms the value by the next free worker.
+     *
+     * @param timeout the time to wait for a free worker and for its answer, each
+     */
+    public String transform(String source, Duration timeout) throws TransformationException {
+        try {
+            if (!permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new TransformationException("No free worker for '" + commandLine + "' within "
+                        + timeout.toMillis() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransformationException("Interrupted while waiting for a worker for '" + commandLine + "'", e);
+        }
+
+        ExecTransformationWorker worker = null;
+        try {
+            worker = getWorker();
+            return worker.transform(source, timeout);
+        } finally {
+            if (worker != null) {
+                if (worker.isAlive() && !closed) {
+                    idleWorkers.add(worker);
+                } else {
+                    worker.destroy();
+                }
+            }
+            permits.release();
+        }
+    }
+
+    private ExecTransformationWorker getWorker() throws TransformationException {
+        ExecTransformationWorker worker;
+        while ((worker = idleWorkers.poll()) != null) {
+            if (worker.isAlive()) {
+                return worker;
+            }
+            logger.warn("Worker '{}' has terminated, starting a new one", worker);
+        }
+        try {
+            return new ExecTransformationWorker(commandLine);
+        } catch (IOException e) {
+            throw new TransformationException("Failed to start worker '" + commandLine + "'", e);
+        }
+    }
+
+    /**
+     * Stops all idle workers. Workers in use are stopped when they are returned.
+     */
+    public void close() {
+        closed = true;
+        ExecTransformationWorker worker;
+        while ((worker = idleWorkers.poll()) != null) {
+            worker.destroy();
+        }
+    }
+}
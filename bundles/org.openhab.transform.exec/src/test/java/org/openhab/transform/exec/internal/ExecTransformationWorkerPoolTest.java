@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.core.transform.TransformationException;
+
+/**
+ * Tests for {@link ExecTransformationWorkerPool} and {@link ExecTransformationWorker}.
+ *
+ * The worker is a shell script which answers every line with its pid and the line. It waits for a second before
+ * answering "slow" and terminates on "exit".
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class ExecTransformationWorkerPoolTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    public @TempDir @NonNullByDefault({}) File folder;
+
+    private @NonNullByDefault({}) String commandLine;
+    private @NonNullByDefault({}) ExecTransformationWorkerPool pool;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        assumeFalse(System.getProperty("os.name").startsWith("Windows"));
+
+        File script = new File(folder, "worker.sh");
+        Files.write(script.toPath(), List.of("while read -r line; do", //
+                "  case \"$line\" in", //
+                "    slow) sleep 1 ;;", //
+                "    exit) exit 0 ;;", //
+                "  esac", //
+                "  echo \"$$ $line\"", //
+                "done"));
+        commandLine = "sh " + script.getAbsolutePath();
+        pool = new ExecTransformationWorkerPool(commandLine, 1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private static String value(String answer) {
+        return answer.substring(answer.indexOf(' ') + 1);
+    }
+
+    private static long pid(String answer) {
+        return Long.parseLong(answer.substring(0, answer.indexOf(' ')));
+    }
+
+    private static void assertTerminates(long pid) throws Exception {
+        Optional<ProcessHandle> process = ProcessHandle.of(pid);
+        if (process.isPresent()) {
+            // throws a TimeoutException if the worker keeps running
+            process.get().onExit().get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void answersInOrderFromTheSameWorker() throws TransformationException {
+        String first = pool.transform("a", TIMEOUT);
+        String second = pool.transform("b\nc", TIMEOUT);
+        String third = pool.transform("d", TIMEOUT);
+
+        assertThat(value(first), is("a"));
+        assertThat(value(second), is("b c"));
+        assertThat(value(third), is("d"));
+        assertThat(pid(second), is(pid(first)));
+        assertThat(pid(third), is(pid(first)));
+    }
+
+    @Test
+    public void requestsAreQueuedWhileAllWorkersAreBusy() throws Exception {
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> transformUnchecked("slow"));
+        // let the slow request take the only worker
+        Thread.sleep(200);
+        String fast = pool.transform("fast", TIMEOUT);
+
+        assertThat(slow.isDone(), is(true));
+        assertThat(value(slow.get()), is("slow"));
+        assertThat(value(fast), is("fast"));
+        assertThat(pid(fast), is(pid(slow.get())));
+    }
+
+    @Test
+    public void failsIfNoWorkerIsFreeInTime() throws Exception {
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> transformUnchecked("slow"));
+        Thread.sleep(200);
+
+        assertThrows(TransformationException.class, () -> pool.transform("fast", Duration.ofMillis(100)));
+        assertThat(value(slow.get(5, TimeUnit.SECONDS)), is("slow"));
+    }
+
+    @Test
+    public void terminatedWorkerIsReplaced() throws TransformationException {
+        String first = pool.transform("a", TIMEOUT);
+        assertThrows(TransformationException.class, () -> pool.transform("exit", TIMEOUT));
+
+        String second = pool.transform("b", TIMEOUT);
+        assertThat(value(second), is("b"));
+        assertThat(pid(second), is(not(pid(first))));
+    }
+
+    @Test
+    public void closeStopsIdleWorkers() throws Exception {
+        String answer = pool.transform("a", TIMEOUT);
+
+        pool.close();
+        assertTerminates(pid(answer));
+    }
+
+    @Test
+    public void closeStopsBusyWorkersWhenTheyAreReturned() throws Exception {
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> transformUnchecked("slow"));
+        Thread.sleep(200);
+
+        pool.close();
+        String answer = slow.get(5, TimeUnit.SECONDS);
+        assertThat(value(answer), is("slow"));
+        assertTerminates(pid(answer));
+    }
+
+    private String transformUnchecked(String source) {
+        try {
+            return pool.transform(source, TIMEOUT);
+        } catch (TransformationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.transform.TransformationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of compiled instances of one JavaScript file.
+ *
+ * Script engines are not thread safe, so every instance is compiled in its own engine and used by one thread at a
+ * time. Instances are compiled on demand, up to the size of the pool, by the thread which needs them.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class CompiledScriptPool {
+
+    private final Logger logger = LoggerFactory.getLogger(CompiledScriptPool.class);
+
+    private final ScriptEngineManager manager;
+    private final String filename;
+    private final String path;
+    private final Semaphore permits;
+    private final long timeoutMillis;
+    private final BlockingQueue<CompiledScript> idleScripts = new LinkedBlockingQueue<>();
+    private volatile boolean closed;
+
+    // metrics
+    private final AtomicLong compilations = new AtomicLong();
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong totalExecutionNanos = new AtomicLong();
+    private final AtomicLong maxExecutionNanos = new AtomicLong();
+
+    public CompiledScriptPool(ScriptEngineManager manager, String filename, String path, int size,
+            long timeoutMillis) {
+        this.manager = manager;
+        this.filename = filename;
+        this.path = path;
+        this.permits = new Semaphore(size);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Takes a compiled script from the pool, compiling a new one if none is idle. Waits if all instances are in use,
+     * but not longer than the timeout of the pool. The script must be given back by {@link #release(CompiledScript)}.
+     *
+     * @throws TransformationException if compile of JavaScript failed or no instance became idle in time
+     */
+    public CompiledScript borrow() throws TransformationException {
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new TransformationException("All instances of JavaScript " + filename + " are still busy after "
+                        + timeoutMillis + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransformationException("Interrupted while waiting for JavaScript " + filename, e);
+        }
+        CompiledScript compiledScript = idleScripts.poll();
+        if (compiledScript != null) {
+            return compiledScript;
+        }
+        try {
+            return compile();
+        } catch (TransformationException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public void release(CompiledScript compiledScript) {
+        if (!closed) {
+            idleScripts.add(compiledScript);
+        }
+        permits.release();
+    }
+
+    /**
+     * Records the duration of one execution of the script.
+     */
+    public void recordExecution(long nanos) {
+        executions.incrementAndGet();
+        totalExecutionNanos.addAndGet(nanos);
+        maxExecutionNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Drops all idle scripts, scripts in use are dropped when they are released.
+     */
+    public void close() {
+        closed = true;
+        idleScripts.clear();
+        logger.debug("Closed pool of JavaScript {}: {}", filename, getStatistics());
+    }
+
+    public String getStatistics() {
+        long count = executions.get();
+        return String.format("compilations=%d executions=%d avg=%.3f ms max=%.3f ms", compilations.get(), count,
+                count == 0 ? 0.0 : totalExecutionNanos.get() / 1e6 / count, maxExecutionNanos.get() / 1e6);
+    }
+
+    private CompiledScript compile() throws TransformationException {
+        logger.debug("Loading script {} from storage ", path);
+        try (final Reader reader = new InputStreamReader(new FileInputStream(path))) {
+            final ScriptEngine engine = manager.getEngineByName("javascript");
+            final CompiledScript cScript = ((Compilable) engine).compile(reader);
+            compilations.incrementAndGet();
+            logger.debug("Compiled JavaScript {}, {} instances compiled so far.", filename, compilations.get());
+            return cScript;
+        } catch (IOException | ScriptException e) {
+            throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(), e);
+        }
+    }
+}
@@ -85,8 +85,10 @@ public class JavaScriptTransformationService implements TransformationService, C
 
         String result = "";
 
+        final CompiledScriptPool pool = manager.getScriptPool(filename);
+        final CompiledScript cScript = pool.borrow();
+        final long executionStart = System.nanoTime();
         try {
-            final CompiledScript cScript = manager.getScript(filename);
             final Bindings bindings = cScript.getEngine().createBindings();
             bindings.put("input", source);
             result = String.valueOf(cScript.eval(bindings));
@@ -94,8 +96,12 @@ public class JavaScriptTransformationService implements TransformationService, C
         } catch (ScriptException e) {
             throw new TransformationException("An error occurred while executing script. " + e.getMessage(), e);
         } finally {
-            logger.trace("JavaScript execution elapsed {} ms. Result: {}", System.currentTimeMillis() - startTime,
-                    result);
+            pool.recordExecution(System.nanoTime() - executionStart);
+            pool.release(cScript);
+            if (logger.isTraceEnabled()) {
+                logger.trace("JavaScript execution elapsed {} ms. Result: {}. Statistics of {}: {}",
+                        System.currentTimeMillis() - startTime, result, filename, pool.getStatistics());
+            }
         }
     }
 
@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.core.transform.TransformationException;
+
+/**
+ * Tests for {@link CompiledScriptPool}.
+ *
+ * The script engine is a mock, which compiles every script to a new {@link CompiledScript} mock.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class CompiledScriptPoolTest {
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    public @TempDir @NonNullByDefault({}) File folder;
+
+    private @NonNullByDefault({}) ScriptEngineManager manager;
+    private @NonNullByDefault({}) Compilable engine;
+    private @NonNullByDefault({}) String path;
+
+    @BeforeEach
+    public void setUp() throws IOException, ScriptException {
+        File script = new File(folder, "test.js");
+        Files.write(script.toPath(), List.of("(function(i) { return i; })(input)"));
+        path = script.getAbsolutePath();
+
+        ScriptEngine scriptEngine = mock(ScriptEngine.class, withSettings().extraInterfaces(Compilable.class));
+        engine = (Compilable) scriptEngine;
+        when(engine.compile(any(Reader.class))).thenAnswer(invocation -> mock(CompiledScript.class));
+        manager = mock(ScriptEngineManager.class);
+        when(manager.getEngineByName("javascript")).thenReturn(scriptEngine);
+    }
+
+    private CompiledScriptPool createPool(int size, long timeoutMillis) {
+        return new CompiledScriptPool(manager, "test.js", path, size, timeoutMillis);
+    }
+
+    @Test
+    public void releasedInstanceIsReused() throws Exception {
+        CompiledScriptPool pool = createPool(2, TIMEOUT_MILLIS);
+        CompiledScript first = pool.borrow();
+        pool.release(first);
+
+        assertThat(pool.borrow(), is(sameInstance(first)));
+        verify(engine, times(1)).compile(any(Reader.class));
+    }
+
+    @Test
+    public void busyInstancesAreNotShared() throws Exception {
+        CompiledScriptPool pool = createPool(2, TIMEOUT_MILLIS);
+        CompiledScript first = pool.borrow();
+        CompiledScript second = pool.borrow();
+
+        assertThat(second, is(not(sameInstance(first))));
+        verify(engine, times(2)).compile(any(Reader.class));
+    }
+
+    @Test
+    public void concurrentBorrowsAreLimitedToPoolSize() throws Exception {
+        int size = 3;
+        CompiledScriptPool pool = createPool(size, TIMEOUT_MILLIS);
+        AtomicInteger inUse = new AtomicInteger();
+        AtomicInteger maxInUse = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    for (int j = 0; j < 50; j++) {
+                        CompiledScript script = pool.borrow();
+                        maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+                        Thread.sleep(1);
+                        inUse.decrementAndGet();
+                        pool.release(script);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(maxInUse.get() <= size, is(true));
+        // instances are only compiled on demand, and never more than the pool size
+        verify(engine, atMost(size)).compile(any(Reader.class));
+    }
+
+    @Test
+    public void failsIfNoInstanceBecomesIdle() throws Exception {
+        CompiledScriptPool pool = createPool(1, 100);
+        pool.borrow();
+
+        assertThrows(TransformationException.class, pool::borrow);
+    }
+
+    @Test
+    public void waitingBorrowGetsReleasedInstance() throws Exception {
+        CompiledScriptPool pool = createPool(1, TIMEOUT_MILLIS);
+        CompiledScript first = pool.borrow();
+        CompletableFuture<CompiledScript> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.borrow();
+            } catch (TransformationException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(200);
+        assertThat(waiting.isDone(), is(false));
+
+        pool.release(first);
+        assertThat(waiting.get(5, TimeUnit.SECONDS), is(sameInstance(first)));
+    }
+
+    @Test
+    public void failedCompilationDoesNotUseUpAnInstance() throws Exception {
+        CompiledScriptPool pool = createPool(1, 100);
+        when(engine.compile(any(Reader.class))).thenThrow(new ScriptException("syntax error"))
+                .thenAnswer(invocation -> mock(CompiledScript.class));
+
+        assertThrows(TransformationException.class, pool::borrow);
+        assertThat(pool.borrow(), is(notNullValue()));
+    }
+
+    @Test
+    public void closedPoolDropsReleasedInstances() throws Exception {
+        CompiledScriptPool pool = createPool(1, TIMEOUT_MILLIS);
+        CompiledScript first = pool.borrow();
+
+        pool.close();
+        pool.release(first);
+        assertThat(pool.borrow(), is(not(sameInstance(first))));
+    }
+}
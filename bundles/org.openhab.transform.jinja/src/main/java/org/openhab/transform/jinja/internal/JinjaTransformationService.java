@@ -16,37 +16,78 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.JinjavaConfig;
+import com.hubspot.jinjava.interpret.Context;
+import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
+import com.hubspot.jinjava.tree.Node;
 
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by Jinja2 Expressions.
  *
+ * <p>
+ * Templates are parsed once and kept in a cache. With the <code>lazyJson</code> option, <code>value_json</code> is
+ * bound to a {@link JsonView} instead of a full copy of the JSON tree.
+ *
  * @author Jochen Klein - Initial contribution
  *
  */
 @NonNullByDefault
-@Component(property = { "openhab.transform=JINJA" })
+@Component(configurationPid = "org.openhab.transform.jinja", property = { "openhab.transform=JINJA" })
 public class JinjaTransformationService implements TransformationService {
 
+    private static final String CONFIG_LAZY_JSON = "lazyJson";
+    private static final int TEMPLATE_CACHE_SIZE = 500;
+
+    // thread safe once configured
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     private final Logger logger = LoggerFactory.getLogger(JinjaTransformationService.class);
 
     private Jinjava jinjava = new Jinjava();
 
+    // Rendering does not modify a parsed tree, all state is kept in the interpreter and its context. A cached tree is
+    // therefore rendered by several threads at the same time, see testConcurrentRendering.
+    private final Map<String, Node> templateCache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, Node> eldest) {
+            return size() > TEMPLATE_CACHE_SIZE;
+        }
+    };
+
+    private volatile boolean lazyJson;
+
+    @Activate
+    @Modified
+    public void activate(@Nullable Map<String, Object> config) {
+        Object lazyJsonConfig = config == null ? null : config.get(CONFIG_LAZY_JSON);
+        lazyJson = lazyJsonConfig != null && Boolean.parseBoolean(lazyJsonConfig.toString());
+    }
+
     /**
      * Transforms the input <code>value</code> by Jinja template.
      *
@@ -62,19 +103,67 @@ public class JinjaTransformationService implements TransformationService {
         bindings.put("value", value);
 
         try {
-            JsonNode tree = new ObjectMapper().readTree(value);
-            bindings.put("value_json", toObject(tree));
+            JsonNode tree = OBJECT_MAPPER.readTree(value);
+            bindings.put("value_json", lazyJson ? JsonView.of(tree) : toObject(tree));
         } catch (IOException e) {
             // ok, then value_json is null...
         }
 
-        String transformationResult = jinjava.render(template, bindings);
+        String transformationResult = render(template, bindings);
 
         logger.debug("transformation resulted in '{}'", transformationResult);
 
         return transformationResult;
     }
 
+    /**
+     * Renders the template like {@link Jinjava#render(String, Map)} does, but with the parsed template from the cache.
+     */
+    private String render(String template, Map<String, @Nullable Object> bindings) {
+        Node root = getParsedTemplate(template);
+        if (root == null) {
+            // let Jinjava report the errors
+            return jinjava.render(template, bindings);
+        }
+
+        JinjavaConfig config = jinjava.getGlobalConfig();
+        JinjavaInterpreter interpreter = new JinjavaInterpreter(jinjava,
+                new Context(jinjava.getGlobalContext(), bindings, config.getDisabled()), config);
+        JinjavaInterpreter.pushCurrent(interpreter);
+        try {
+            String result = interpreter.render(root);
+            List<TemplateError> fatalErrors = interpreter.getErrors().stream()
+                    .filter(error -> error.getSeverity() == ErrorType.FATAL).collect(Collectors.toList());
+            if (!fatalErrors.isEmpty()) {
+                throw new FatalTemplateErrorsException(template, fatalErrors);
+            }
+            return result;
+        } finally {
+            JinjavaInterpreter.popCurrent();
+        }
+    }
+
+    /**
+     * @return the parsed template, or <code>null</code> if it has errors
+     */
+    private @Nullable Node getParsedTemplate(String template) {
+        synchronized (templateCache) {
+            Node root = templateCache.get(template);
+            if (root != null) {
+                return root;
+            }
+        }
+        JinjavaInterpreter interpreter = jinjava.newInterpreter();
+        Node root = interpreter.parse(template);
+        if (!interpreter.getErrors().isEmpty()) {
+            return null;
+        }
+        synchronized (templateCache) {
+            templateCache.put(template, root);
+        }
+        return root;
+    }
+
     private static @Nullable Object toObject(JsonNode node) {
         switch (node.getNodeType()) {
             case ARRAY: {
@@ -14,6 +14,13 @@ package org.openhab.transform.jinja.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.transform.TransformationException;
@@ -59,4 +66,49 @@ public class JinjaTransformationServiceTest {
         // Asserts
         assertEquals("Hello world!", transformedResponse);
     }
+
+    @Test
+    public void testCachedTemplate() throws TransformationException {
+        assertEquals("Hello world!", processor.transform("Hello {{ value }}!", "world"));
+        assertEquals("Hello moon!", processor.transform("Hello {{ value }}!", "moon"));
+    }
+
+    @Test
+    public void testLazyJson() throws TransformationException {
+        processor.activate(Map.of("lazyJson", (Object) "true"));
+        String json = "{\"Time\":\"2019-01-05T22:45:12\",\"AM2301\":{\"Temperature\":4.7,\"Humidity\":99.9},\"TempUnit\":\"C\",\"List\":[1,2,3],\"On\":true,\"Off\":null}";
+
+        assertEquals("4.7", processor.transform("{{value_json['AM2301'].Temperature}}", json));
+        assertEquals("4.7", processor.transform("{{value_json.AM2301.Temperature}}", json));
+        assertEquals("2", processor.transform("{{value_json.List[1]}}", json));
+        assertEquals("3", processor.transform("{{value_json.List|length}}", json));
+        assertEquals("true", processor.transform("{{value_json.On}}", json));
+        assertEquals("", processor.transform("{{value_json.Off}}", json));
+        assertEquals("123", processor.transform("{% for item in value_json.List %}{{ item }}{% endfor %}", json));
+    }
+
+    @Test
+    public void testLazyQuotedStringOnly() throws TransformationException {
+        processor.activate(Map.of("lazyJson", (Object) "true"));
+        assertEquals("Hello world!", processor.transform("Hello {{ value_json }}!", "\"world\""));
+    }
+
+    @Test
+    public void testConcurrentRendering() throws Exception {
+        String template = "{% macro item(n) %}[{{ n }}]{% endmacro %}{% set name = value_json.Name|upper %}"
+                + "{% for n in value_json.List %}{{ item(n) }}{% endfor %}{{ name }}";
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                String json = "{\"List\":[" + i + "," + (i + 1) + "],\"Name\":\"n" + i + "\"}";
+                results.add(executor.submit(() -> processor.transform(template, json)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals("[" + i + "][" + (i + 1) + "]N" + i, results.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -12,7 +12,10 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -24,6 +27,7 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -41,8 +45,38 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(property = { "openhab.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    // number of compiled expressions kept, there is usually one per channel or item using this transformation
+    private static final int PATH_CACHE_SIZE = 500;
+    // several channels are often fed from the same payload, which is then only parsed once
+    private static final int DOCUMENT_CACHE_SIZE = 8;
+    // total length of the cached payloads, larger payloads are not cached at all
+    private static final int DOCUMENT_CACHE_MAX_LENGTH = 1_000_000;
+    private static final long DOCUMENT_CACHE_EXPIRY = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final Map<String, JsonPath> pathCache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, JsonPath> eldest) {
+            return size() > PATH_CACHE_SIZE;
+        }
+    };
+
+    private final Map<String, CachedDocument> documentCache = new LinkedHashMap<>(16, 0.75f, true);
+    private int documentCacheLength;
+
+    private static class CachedDocument {
+        private final DocumentContext document;
+        private final long expiry;
+
+        private CachedDocument(DocumentContext document, long expiry) {
+            this.document = document;
+            this.expiry = expiry;
+        }
+    }
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -60,7 +94,7 @@ public class JSonPathTransformationService implements TransformationService {
         logger.debug("about to transform '{}' by the function '{}'", source, jsonPathExpression);
 
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            Object transformationResult = getDocument(source).read(getPath(jsonPathExpression));
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -76,6 +110,54 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    private JsonPath getPath(String jsonPathExpression) {
+        synchronized (pathCache) {
+            JsonPath path = pathCache.get(jsonPathExpression);
+            if (path == null) {
+                // invalid expressions are not cached, they throw an InvalidPathException every time
+                path = JsonPath.compile(jsonPathExpression);
+                pathCache.put(jsonPathExpression, path);
+            }
+            return path;
+        }
+    }
+
+    private DocumentContext getDocument(String source) {
+        long now = System.currentTimeMillis();
+        synchronized (documentCache) {
+            CachedDocument cached = documentCache.get(source);
+            if (cached != null && cached.expiry > now) {
+                return cached.document;
+            }
+        }
+        // parse outside the lock, so that different payloads can be parsed in parallel
+        DocumentContext document = JsonPath.parse(source);
+        if (source.length() > DOCUMENT_CACHE_MAX_LENGTH) {
+            return document;
+        }
+        synchronized (documentCache) {
+            if (documentCache.put(source, new CachedDocument(document, now + DOCUMENT_CACHE_EXPIRY)) == null) {
+                documentCacheLength += source.length();
+            }
+            // the new document is the most recently used one, so it is removed last
+            Iterator<String> eldest = documentCache.keySet().iterator();
+            while (documentCache.size() > DOCUMENT_CACHE_SIZE || documentCacheLength > DOCUMENT_CACHE_MAX_LENGTH) {
+                documentCacheLength -= eldest.next().length();
+                eldest.remove();
+            }
+        }
+        return document;
+    }
+
+    /**
+     * @return the total length of the cached payloads
+     */
+    int getDocumentCacheLength() {
+        synchronized (documentCache) {
+            return documentCacheLength;
+        }
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -127,4 +127,52 @@ public class JSonPathTransformationServiceTest {
         String transformedResponse = processor.transform("$.data", json);
         assertEquals(list, transformedResponse);
     }
+
+    @Test
+    public void testCachedPathOnDifferentDocuments() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        assertEquals("carol", processor.transform("$[0].name", "[{ \"name\":\"carol\" }]"));
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+    }
+
+    @Test
+    public void testCachedDocumentWithDifferentPaths() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        assertEquals("alice", processor.transform("$[1].name", jsonArray));
+        assertEquals("[1, 2]", processor.transform("$.*.id", jsonArray));
+    }
+
+    @Test
+    public void testDocumentCacheIsBoundedByCount() throws TransformationException {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(String.valueOf(i), processor.transform("$.id", "{ \"id\":" + i + " }"));
+        }
+        assertEquals(8 * "{ \"id\":0 }".length(), processor.getDocumentCacheLength());
+    }
+
+    @Test
+    public void testDocumentCacheIsBoundedByLength() throws TransformationException {
+        String padding = "x".repeat(400_000);
+        String first = "{ \"id\":1, \"padding\":\"" + padding + "\" }";
+        String second = "{ \"id\":2, \"padding\":\"" + padding + "\" }";
+        String third = "{ \"id\":3, \"padding\":\"" + padding + "\" }";
+
+        assertEquals("1", processor.transform("$.id", first));
+        assertEquals("2", processor.transform("$.id", second));
+        assertEquals(first.length() + second.length(), processor.getDocumentCacheLength());
+
+        // the eldest payload is dropped
+        assertEquals("3", processor.transform("$.id", third));
+        assertEquals(second.length() + third.length(), processor.getDocumentCacheLength());
+
+        // too large to be cached at all
+        assertEquals("4", processor.transform("$.id", "{ \"id\":4, \"padding\":\"" + padding.repeat(3) + "\" }"));
+        assertEquals(second.length() + third.length(), processor.getDocumentCacheLength());
+    }
+
+    @Test
+    public void testInvalidPathIsNotCached() {
+        assertThrows(TransformationException.class, () -> processor.transform("$$", jsonArray));
+        assertThrows(TransformationException.class, () -> processor.transform("$$", jsonArray));
+    }
 }
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.regex.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * LRU cache of compiled regular expressions, so that a transformation which is applied to every message does not
+ * compile its expression every time.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class RegExPatternCache {
+
+    private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
+
+    /**
+     * A compiled transformation function, either a substitution of the form <code>s/regex/substitution/options</code>
+     * or an expression matching the whole source.
+     */
+    public static class CompiledRegEx {
+        private final Pattern pattern;
+        private final @Nullable String substitution;
+        private final boolean global;
+
+        private CompiledRegEx(Pattern pattern, @Nullable String substitution, boolean global) {
+            this.pattern = pattern;
+            this.substitution = substitution;
+            this.global = global;
+        }
+
+        public Pattern getPattern() {
+            return pattern;
+        }
+
+        /**
+         * @return the substitution or <code>null</code> if this is not a substitution
+         */
+        public @Nullable String getSubstitution() {
+            return substitution;
+        }
+
+        /**
+         * @return <code>true</code> if all occurrences are substituted, <code>false</code> for the first one only
+         */
+        public boolean isGlobal() {
+            return global;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(RegExPatternCache.class);
+
+    private final Map<String, CompiledRegEx> cache;
+    private long hits;
+    private long misses;
+
+    public RegExPatternCache(int capacity) {
+        cache = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.@Nullable Entry<String, CompiledRegEx> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the compiled form of the given transformation function, compiling it if it is not cached yet.
+     *
+     * @throws java.util.regex.PatternSyntaxException if the expression is invalid; invalid expressions are not cached
+     */
+    public CompiledRegEx get(String regExpression) {
+        synchronized (cache) {
+            CompiledRegEx compiled = cache.get(regExpression);
+            if (compiled != null) {
+                hits++;
+                logger.trace("Pattern cache hit for '{}' (hits={}, misses={})", regExpression, hits, misses);
+                return compiled;
+            }
+        }
+
+        CompiledRegEx compiled = compile(regExpression);
+        synchronized (cache) {
+            cache.put(regExpression, compiled);
+            misses++;
+            logger.debug("Pattern cache miss for '{}' (hits={}, misses={}, size={})", regExpression, hits, misses,
+                    cache.size());
+        }
+        return compiled;
+    }
+
+    private CompiledRegEx compile(String regExpression) {
+        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
+        if (substMatcher.matches()) {
+            return new CompiledRegEx(Pattern.compile(substMatcher.group(1)), substMatcher.group(2),
+                    "g".equals(substMatcher.group(3)));
+        }
+        return new CompiledRegEx(Pattern.compile("^" + regExpression + "$", Pattern.DOTALL), null, false);
+    }
+
+    public long getHits() {
+        synchronized (cache) {
+            return hits;
+        }
+    }
+
+    public long getMisses() {
+        synchronized (cache) {
+            return misses;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.regex.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.regex.PatternSyntaxException;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.transform.regex.internal.RegExPatternCache.CompiledRegEx;
+
+/**
+ * @author openHAB Contributors - Initial contribution
+ */
+public class RegExPatternCacheTest {
+
+    @Test
+    public void testSameExpressionIsCompiledOnce() {
+        RegExPatternCache cache = new RegExPatternCache(10);
+        CompiledRegEx first = cache.get(".*(\\d+).*");
+        CompiledRegEx second = cache.get(".*(\\d+).*");
+
+        assertSame(first, second);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testSubstitutionIsParsed() {
+        RegExPatternCache cache = new RegExPatternCache(10);
+        CompiledRegEx compiled = cache.get("s/ab/cd/g");
+
+        assertEquals("ab", compiled.getPattern().pattern());
+        assertEquals("cd", compiled.getSubstitution());
+        assertTrue(compiled.isGlobal());
+        assertFalse(cache.get("s/ab/cd/").isGlobal());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedExpressionIsEvicted() {
+        RegExPatternCache cache = new RegExPatternCache(2);
+        CompiledRegEx a = cache.get("a(.*)");
+        cache.get("b(.*)");
+        cache.get("a(.*)");
+        cache.get("c(.*)");
+
+        assertSame(a, cache.get("a(.*)"));
+        cache.get("b(.*)");
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    public void testInvalidExpressionThrows() {
+        RegExPatternCache cache = new RegExPatternCache(10);
+        assertThrows(PatternSyntaxException.class, () -> cache.get("(.*"));
+        assertThrows(PatternSyntaxException.class, () -> cache.get("(.*"));
+        assertEquals(0, cache.getMisses());
+    }
+}
@@ -66,12 +66,66 @@ public class Range {
     final boolean minInclusive;
     final BigDecimal max;
     final boolean maxInclusive;
+    // the limits as double, for comparisons which are not affected by rounding
+    final double minValue;
+    final double maxValue;
 
     private Range(final BigDecimal min, final boolean minInclusive, final BigDecimal max, final boolean maxInclusive) {
         this.min = min;
         this.minInclusive = minInclusive;
         this.max = max;
         this.maxInclusive = maxInclusive;
+        this.minValue = min == null ? Double.NEGATIVE_INFINITY : min.doubleValue();
+        this.maxValue = max == null ? Double.POSITIVE_INFINITY : max.doubleValue();
+    }
+
+    /**
+     * Checks whether the value is in this range, comparing with the limits converted to double.
+     *
+     * The result is only exact if the value is not equal to one of the converted limits.
+     */
+    public boolean contains(final double value) {
+        if (minInclusive ? value < minValue : value <= minValue) {
+            return false;
+        }
+        return maxInclusive ? value <= maxValue : value < maxValue;
+    }
+
+    /**
+     * @return <code>true</code> if the value is not above the upper limit of this range
+     */
+    boolean reachesUpTo(final BigDecimal value) {
+        if (max == null) {
+            return true;
+        }
+        int cmp = value.compareTo(max);
+        return maxInclusive ? cmp <= 0 : cmp < 0;
+    }
+
+    /**
+     * @return <code>true</code> if the value is not below the lower limit of this range
+     */
+    boolean startsBelow(final BigDecimal value) {
+        if (min == null) {
+            return true;
+        }
+        int cmp = value.compareTo(min);
+        return minInclusive ? cmp >= 0 : cmp > 0;
+    }
+
+    /**
+     * @return <code>true</code> if no value can be in this range
+     */
+    boolean isEmpty() {
+        if (min == null || max == null) {
+            return false;
+        }
+        int cmp = min.compareTo(max);
+        return cmp > 0 || (cmp == 0 && !(minInclusive && maxInclusive));
+    }
+
+    boolean isAll() {
+        return min == null && max == null;
     }
 
     public boolean contains(final BigDecimal value) {
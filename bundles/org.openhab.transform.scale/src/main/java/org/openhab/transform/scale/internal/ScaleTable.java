@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Immutable lookup table of the ranges of a scale file.
+ *
+ * Like in the file, the first range containing a value wins. If the ranges do not overlap, except for sharing a
+ * limit, they are sorted by their lower limit and searched by binary search. Otherwise they are scanned in file order.
+ * A range without limits catches all values, so it ends the table and is kept as default.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class ScaleTable {
+
+    private static class Entry {
+        private final Range range;
+        private final String label;
+        // position in the scale file
+        private final int order;
+
+        private Entry(Range range, String label, int order) {
+            this.range = range;
+            this.label = label;
+            this.order = order;
+        }
+    }
+
+    private static final Comparator<Entry> BY_LOWER_LIMIT = (a, b) -> {
+        if (a.range.min == null || b.range.min == null) {
+            return a.range.min == null ? (b.range.min == null ? 0 : -1) : 1;
+        }
+        int cmp = a.range.min.compareTo(b.range.min);
+        if (cmp == 0 && a.range.minInclusive != b.range.minInclusive) {
+            // an inclusive limit starts before an exclusive one
+            return a.range.minInclusive ? -1 : 1;
+        }
+        return cmp;
+    };
+
+    private final String format;
+    private final @Nullable String nonNumericLabel;
+    private final @Nullable String defaultLabel;
+    // in file order if the ranges overlap, otherwise sorted by lower limit
+    private final Entry[] entries;
+    private final boolean sorted;
+    // all limits as double, sorted; a double equal to one of these must be compared as BigDecimal
+    private final double[] limits;
+
+    /**
+     * @param ranges the ranges with their labels, in file order
+     */
+    public ScaleTable(Map<Range, String> ranges, String format, @Nullable String nonNumericLabel) {
+        this.format = format;
+        this.nonNumericLabel = nonNumericLabel;
+
+        List<Entry> list = new ArrayList<>();
+        String defaultLabel = null;
+        for (Map.Entry<Range, String> range : ranges.entrySet()) {
+            if (range.getKey().isAll()) {
+                // ranges behind it can never match
+                defaultLabel = range.getValue();
+                break;
+            }
+            if (!range.getKey().isEmpty()) {
+                list.add(new Entry(range.getKey(), range.getValue(), list.size()));
+            }
+        }
+        this.defaultLabel = defaultLabel;
+
+        Entry[] entries = list.toArray(new Entry[0]);
+        Entry[] sortedEntries = entries.clone();
+        Arrays.sort(sortedEntries, BY_LOWER_LIMIT);
+        this.sorted = !overlap(sortedEntries);
+        this.entries = sorted ? sortedEntries : entries;
+
+        this.limits = list.stream().flatMap(entry -> {
+            List<Double> values = new ArrayList<>(2);
+            if (entry.range.min != null) {
+                values.add(entry.range.minValue);
+            }
+            if (entry.range.max != null) {
+                values.add(entry.range.maxValue);
+            }
+            return values.stream();
+        }).mapToDouble(Double::doubleValue).sorted().distinct().toArray();
+    }
+
+    private static boolean overlap(Entry[] sortedEntries) {
+        for (int i = 1; i < sortedEntries.length; i++) {
+            Range previous = sortedEntries[i - 1].range;
+            Range next = sortedEntries[i].range;
+            // sharing a limit is allowed, the search checks both ranges then
+            if (previous.max == null || next.min == null || previous.max.compareTo(next.min) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    /**
+     * @return the label for values which are not numeric, or <code>null</code> if there is none
+     */
+    public @Nullable String getNonNumericLabel() {
+        return nonNumericLabel;
+    }
+
+    /**
+     * @return the label of the first range containing the value, or <code>null</code> if there is none
+     */
+    public @Nullable String getLabel(BigDecimal value) {
+        if (!sorted) {
+            for (Entry entry : entries) {
+                if (entry.range.contains(value)) {
+                    return entry.label;
+                }
+            }
+            return defaultLabel;
+        }
+
+        // last range starting below the value
+        int low = 0;
+        int high = entries.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (entries[mid].range.startsBelow(value)) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        // only ranges sharing a limit with it can contain the value as well
+        Entry match = null;
+        for (int i = high; i >= 0 && entries[i].range.reachesUpTo(value); i--) {
+            if (entries[i].range.contains(value) && (match == null || entries[i].order < match.order)) {
+                match = entries[i];
+            }
+        }
+        return match != null ? match.label : defaultLabel;
+    }
+
+    /**
+     * @return <code>true</code> if the value can be looked up by {@link #getLabel(double)}, i.e. it is not equal to a
+     *         limit after converting both to double
+     */
+    public boolean canLookup(double value) {
+        return Arrays.binarySearch(limits, value) < 0;
+    }
+
+    /**
+     * Same as {@link #getLabel(BigDecimal)}, without creating a {@link BigDecimal}. Only valid for values accepted by
+     * {@link #canLookup(double)}: as these are different from all limits, the comparison of the rounded values gives
+     * the same result as the comparison of the exact ones.
+     */
+    public @Nullable String getLabel(double value) {
+        if (!sorted) {
+            for (Entry entry : entries) {
+                if (entry.range.contains(value)) {
+                    return entry.label;
+                }
+            }
+            return defaultLabel;
+        }
+
+        int low = 0;
+        int high = entries.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (value > entries[mid].range.minValue) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        // the value is not on a limit, so at most one range contains it
+        return high >= 0 && entries[high].range.contains(value) ? entries[high].label : defaultLabel;
+    }
+}
@@ -153,4 +153,31 @@ public class ScaleTransformServiceTest {
         String transformedResponse = processor.transform(existingscale, source);
         assertEquals("", transformedResponse);
     }
+
+    @Test
+    public void testSharedLimitTakesFirstRange() throws TransformationException {
+        String existingscale = "scale/humidex.scale";
+        assertEquals("no significant", processor.transform(existingscale, "20"));
+        assertEquals("no significant", processor.transform(existingscale, "20.000"));
+        assertEquals("comfortable", processor.transform(existingscale, "20.01"));
+        // equal to the limit when converted to double, but above it
+        assertEquals("comfortable", processor.transform(existingscale, "20.0000000000000000001"));
+        assertEquals("no significant", processor.transform(existingscale, "1e1"));
+        assertEquals("heat stroke imminent", processor.transform(existingscale, "100"));
+    }
+
+    @Test
+    public void testPlainNumber() {
+        assertTrue(ScaleTransformationService.isPlainNumber("10"));
+        assertTrue(ScaleTransformationService.isPlainNumber("-1.5"));
+        assertTrue(ScaleTransformationService.isPlainNumber(".5"));
+        assertTrue(ScaleTransformationService.isPlainNumber("+2E-3"));
+        assertFalse(ScaleTransformationService.isPlainNumber(""));
+        assertFalse(ScaleTransformationService.isPlainNumber("-"));
+        assertFalse(ScaleTransformationService.isPlainNumber("NaN"));
+        assertFalse(ScaleTransformationService.isPlainNumber("10d"));
+        assertFalse(ScaleTransformationService.isPlainNumber(" 10"));
+        assertFalse(ScaleTransformationService.isPlainNumber("1e"));
+        assertFalse(ScaleTransformationService.isPlainNumber("992 ppm"));
+    }
 }
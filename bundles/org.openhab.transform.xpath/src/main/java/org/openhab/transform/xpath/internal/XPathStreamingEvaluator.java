@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xpath.internal;
+
+import java.io.StringReader;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Evaluates simple absolute XPath expressions like <code>/a/b/c</code> or <code>/a/b/@attr</code> on a stream of
+ * XML events, without building a DOM.
+ *
+ * The result is the same as the string value of the expression evaluated on a DOM: the text content of the first
+ * matching element or the value of the first matching attribute, or an empty string if nothing matches. Unlike a DOM
+ * parser, the reader stops at the first match, so errors in the document behind it are not detected.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class XPathStreamingEvaluator {
+
+    private static final String NAME = "[A-Za-z_][\\w.\\-]*";
+    private static final Pattern SIMPLE_PATH = Pattern.compile("(/" + NAME + ")+(/@" + NAME + ")?");
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private final String[] steps;
+    private final @Nullable String attribute;
+
+    private XPathStreamingEvaluator(String[] steps, @Nullable String attribute) {
+        this.steps = steps;
+        this.attribute = attribute;
+    }
+
+    /**
+     * @return an evaluator for the given expression or <code>null</code> if the expression is not a simple absolute
+     *         path of element names without namespace prefixes, optionally ending with an attribute
+     */
+    public static @Nullable XPathStreamingEvaluator forExpression(String xpathExpression) {
+        String expression = xpathExpression.trim();
+        if (!SIMPLE_PATH.matcher(expression).matches()) {
+            return null;
+        }
+        String attribute = null;
+        int attributeStart = expression.indexOf("/@");
+        if (attributeStart >= 0) {
+            attribute = expression.substring(attributeStart + 2);
+            expression = expression.substring(0, attributeStart);
+        }
+        return new XPathStreamingEvaluator(expression.substring(1).split("/"), attribute);
+    }
+
+    public String evaluate(String source) throws XMLStreamException {
+        XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(new StringReader(source));
+        try {
+            // depth of the current element and number of steps matched by it and its ancestors
+            int depth = 0;
+            int matched = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    if (matched == depth - 1 && matched < steps.length && isNamed(reader, steps[matched])) {
+                        matched++;
+                        if (matched == steps.length) {
+                            String attribute = this.attribute;
+                            if (attribute == null) {
+                                return readText(reader);
+                            }
+                            String value = getAttribute(reader, attribute);
+                            if (value != null) {
+                                return value;
+                            }
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (matched == depth) {
+                        matched--;
+                    }
+                    depth--;
+                }
+            }
+            return "";
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static boolean isNamed(XMLStreamReader reader, String name) {
+        String namespace = reader.getNamespaceURI();
+        return name.equals(reader.getLocalName()) && (namespace == null || namespace.isEmpty());
+    }
+
+    private static @Nullable String getAttribute(XMLStreamReader reader, String name) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String namespace = reader.getAttributeNamespace(i);
+            if (name.equals(reader.getAttributeLocalName(i)) && (namespace == null || namespace.isEmpty())) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    // concatenates all text below the current element, like the string value of an element node
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    text.append(reader.getText());
+                    break;
+                default:
+                    break;
+            }
+        }
+        return text.toString();
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
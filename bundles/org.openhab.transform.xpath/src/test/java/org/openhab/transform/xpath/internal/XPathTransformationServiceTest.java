@@ -14,6 +14,8 @@ package org.openhab.transform.xpath.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Map;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.transform.TransformationException;
@@ -38,4 +40,49 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformByCachedXPath() throws TransformationException {
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+        assertEquals("46", processor.transform("//current_conditions/temp_f/@data", source));
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+    }
+
+    @Test
+    public void testStreamingMatchesDom() throws TransformationException {
+        String[] expressions = { "/xml_api_reply/weather/current_conditions/temp_c/@data",
+                "/xml_api_reply/weather/forecast_conditions/high/@data", "/xml_api_reply/@version",
+                "/xml_api_reply/weather/unknown", "/xml_api_reply/weather/current_conditions/unknown/@data" };
+        String xml = "<a><b>first</b><b>second <c>nested</c> text</b><d x=\"1\"/><d y=\"2\"/></a>";
+        String[] xmlExpressions = { "/a/b", "/a/d/@y", "/a", "/b" };
+
+        XPathTransformationService streamingProcessor = new XPathTransformationService();
+        streamingProcessor.activate(Map.of("streaming", (Object) "true"));
+
+        for (String expression : expressions) {
+            assertEquals(processor.transform(expression, source), streamingProcessor.transform(expression, source),
+                    expression);
+        }
+        for (String expression : xmlExpressions) {
+            assertEquals(processor.transform(expression, xml), streamingProcessor.transform(expression, xml),
+                    expression);
+        }
+    }
+
+    @Test
+    public void testStreamingOnlyForSimplePaths() {
+        assertNotNull(XPathStreamingEvaluator.forExpression("/a/b/@c"));
+        assertNull(XPathStreamingEvaluator.forExpression("//a/b"));
+        assertNull(XPathStreamingEvaluator.forExpression("/a/b[1]"));
+        assertNull(XPathStreamingEvaluator.forExpression("/ns:a/b"));
+        assertNull(XPathStreamingEvaluator.forExpression("/a/b/text()"));
+    }
+
+    @Test
+    public void testStreamingInvalidXmlThrowsException() {
+        XPathTransformationService streamingProcessor = new XPathTransformationService();
+        streamingProcessor.activate(Map.of("streaming", (Object) "true"));
+
+        assertThrows(TransformationException.class, () -> streamingProcessor.transform("/a/b", "<a><c></a>"));
+    }
 }
@@ -12,12 +12,17 @@
  */
 package org.openhab.transform.xslt.internal;
 
-import java.io.File;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -27,7 +32,9 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +50,49 @@ public class XsltTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    /**
+     * A compiled stylesheet. {@link Templates} are thread safe, the {@link Transformer}s created from them are not and
+     * are kept per thread.
+     */
+    private static class CompiledStylesheet {
+        private final Templates templates;
+        private final ThreadLocal<@Nullable Transformer> transformers = new ThreadLocal<>();
+
+        private CompiledStylesheet(Templates templates) {
+            this.templates = templates;
+        }
+
+        private Transformer getTransformer() throws TransformerConfigurationException {
+            Transformer transformer = transformers.get();
+            if (transformer == null) {
+                transformer = templates.newTransformer();
+                transformers.set(transformer);
+            }
+            return transformer;
+        }
+    }
+
+    private final Map<Path, CompiledStylesheet> stylesheetCache = new ConcurrentHashMap<>();
+    private @Nullable XsltTransformationWatcher watcher;
+
+    @Activate
+    public void activate() {
+        XsltTransformationWatcher watcher = new XsltTransformationWatcher(getTransformFolder().toString(),
+                this::invalidate);
+        watcher.activate();
+        this.watcher = watcher;
+    }
+
+    @Deactivate
+    public void deactivate() {
+        XsltTransformationWatcher watcher = this.watcher;
+        if (watcher != null) {
+            watcher.deactivate();
+            this.watcher = null;
+        }
+        stylesheetCache.clear();
+    }
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -60,12 +110,10 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
+        Path path;
 
         try {
-            String path = OpenHAB.getConfigFolder() + File.separator + TransformationService.TRANSFORM_FOLDER_NAME
-                    + File.separator + filename;
-            xsl = new StreamSource(new File(path));
+            path = getTransformFolder().resolve(filename).normalize();
         } catch (Exception e) {
             String message = "opening file '" + filename + "' throws exception";
 
@@ -73,23 +121,50 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException(message, e);
         }
 
-        logger.debug("about to transform '{}' by the function '{}'", source, xsl);
+        logger.debug("about to transform '{}' by the function '{}'", source, path);
 
         StringReader xml = new StringReader(source);
         StringWriter out = new StringWriter();
 
-        Transformer transformer;
+        Transformer transformer = null;
 
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
+            transformer = getStylesheet(path).getTransformer();
             transformer.transform(new StreamSource(xml), new StreamResult(out));
         } catch (Exception e) {
             logger.error("transformation throws exception", e);
             throw new TransformationException("transformation throws exception", e);
+        } finally {
+            if (transformer != null) {
+                transformer.reset();
+            }
         }
 
         logger.debug("transformation resulted in '{}'", out.toString());
 
         return out.toString();
     }
+
+    private CompiledStylesheet getStylesheet(Path path) throws TransformerConfigurationException {
+        CompiledStylesheet stylesheet = stylesheetCache.get(path);
+        if (stylesheet == null) {
+            logger.debug("compiling stylesheet '{}'", path);
+            Source xsl = new StreamSource(path.toFile());
+            stylesheet = new CompiledStylesheet(TransformerFactory.newInstance().newTemplates(xsl));
+            stylesheetCache.put(path, stylesheet);
+        }
+        return stylesheet;
+    }
+
+    private void invalidate(Path changedPath) {
+        Path normalized = changedPath.toAbsolutePath().normalize();
+        // a deleted directory invalidates all stylesheets below it
+        if (stylesheetCache.keySet().removeIf(path -> path.startsWith(normalized))) {
+            logger.debug("stylesheet '{}' has changed, it will be compiled again on next use", changedPath);
+        }
+    }
+
+    private static Path getTransformFolder() {
+        return Paths.get(OpenHAB.getConfigFolder(), TransformationService.TRANSFORM_FOLDER_NAME).toAbsolutePath();
+    }
 }
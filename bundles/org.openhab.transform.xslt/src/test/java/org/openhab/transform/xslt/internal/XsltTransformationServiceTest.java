@@ -38,4 +38,17 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformByCachedXSLT() throws TransformationException {
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+        assertEquals("-1", processor.transform("http/google_weather.xsl", source.replace("temp_c data=\"8\"",
+                "temp_c data=\"-1\"")));
+    }
+
+    @Test
+    public void testMissingStylesheetThrowsException() {
+        assertThrows(TransformationException.class, () -> processor.transform("http/inexistent.xsl", source));
+    }
 }